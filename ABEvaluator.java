@@ -0,0 +1,322 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ABEvaluator decides whether one AI strategy scores better than another with as few games as
+ * possible. It plays the two strategies in pairs of games: both games of a pair use the same phrase
+ * and the same random seed, so the luck of the draw is common to both and cancels out of the score
+ * difference (common random numbers). Because the strategies usually agree on most of their guesses,
+ * the paired differences vary far less than two independent scores would.
+ *
+ * <p>After every few pairs, a sequential probability ratio test weighs the mean difference against
+ * the smallest effect worth detecting, delta. It runs two one-sided tests, "A beats B by delta" and
+ * "B beats A by delta", each against "no difference", and stops as soon as one of them accepts its
+ * effect, or both reject it. The variance of the differences is estimated from the pairs played so
+ * far. If the test has not decided after maxPairs pairs, the result is inconclusive.</p>
+ */
+public class ABEvaluator {
+
+    private static final int MIN_PAIRS = 200; // Pairs played before the first test, for a stable variance
+
+    private final List<String> phrases;
+    private final String strategyA;
+    private final String strategyB;
+    private final double delta;     // Smallest mean score difference worth detecting
+    private final double alpha;     // Chance of declaring a difference when there is none
+    private final double beta;      // Chance of missing a difference of delta
+    private final int maxPairs;     // Pairs played before giving up
+    private final int checkEvery;   // Pairs played between two tests
+    private final long seed;
+
+    /**
+     * The outcome of a comparison.
+     */
+    public enum Decision {
+        A_BETTER, B_BETTER, NO_DIFFERENCE, INCONCLUSIVE
+    }
+
+    /**
+     * Constructs an ABEvaluator.
+     *
+     * @param phrases    The phrases to play.
+     * @param strategyA  The name of strategy A, as registered in StrategyRegistry.
+     * @param strategyB  The name of strategy B, as registered in StrategyRegistry.
+     * @param delta      The smallest mean score difference worth detecting.
+     * @param alpha      The accepted chance of declaring a difference when there is none.
+     * @param beta       The accepted chance of missing a difference of delta.
+     * @param maxPairs   The number of pairs after which the comparison gives up.
+     * @param checkEvery The number of pairs played between two tests.
+     * @param seed       The seed of the comparison.
+     */
+    public ABEvaluator(List<String> phrases, String strategyA, String strategyB, double delta,
+                       double alpha, double beta, int maxPairs, int checkEvery, long seed) {
+        if (phrases.isEmpty()) {
+            throw new IllegalArgumentException("Need at least one phrase");
+        }
+        if (delta <= 0 || alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1 || maxPairs <= 0 || checkEvery <= 0) {
+            throw new IllegalArgumentException("delta, maxPairs and checkEvery must be positive, alpha and beta in (0, 1)");
+        }
+        for (String strategy : new String[]{strategyA, strategyB}) {
+            if (!StrategyRegistry.names().contains(strategy)) {
+                throw new IllegalArgumentException("Unknown strategy: " + strategy + ". Known strategies: " + StrategyRegistry.names());
+            }
+        }
+        this.phrases = new ArrayList<>(phrases);
+        this.strategyA = strategyA;
+        this.strategyB = strategyB;
+        this.delta = delta;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.maxPairs = maxPairs;
+        this.checkEvery = checkEvery;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays pairs of games until the sequential test decides.
+     *
+     * @return The result of the comparison.
+     */
+    public Result run() {
+        WheelOfFortuneAIGame game = new WheelOfFortuneAIGame(new ArrayList<>(), phrases);
+        game.setQuiet(true);
+        WheelOfFortunePlayer playerA = StrategyRegistry.create(strategyA, "A:" + strategyA);
+        WheelOfFortunePlayer playerB = StrategyRegistry.create(strategyB, "B:" + strategyB);
+
+        // Two-sided alpha, split between the two one-sided tests
+        double accept = Math.log((1 - beta) / (alpha / 2));
+        double reject = Math.log(beta / (1 - alpha / 2));
+
+        Result result = new Result();
+        while (result.pairs < maxPairs) {
+            long gameSeed = PlayerState.seedFor(seed, result.pairs);
+            String phrase = phrases.get(PlayerState.boundedInt(gameSeed, phrases.size()));
+            long playerSeed = PlayerState.advance(gameSeed); // The same stream for both players
+            int scoreA = play(game, phrase, playerA, playerSeed);
+            int scoreB = play(game, phrase, playerB, playerSeed);
+            result.add(scoreA, scoreB);
+
+            if (result.pairs < MIN_PAIRS || result.pairs % checkEvery != 0) {
+                continue;
+            }
+            double variance = Math.max(result.varianceDiff(), 1e-9);
+            // Log-likelihood ratios of mean +delta and -delta against mean 0 for normal differences
+            double sum = result.sumDiff;
+            double llrA = (delta * sum - result.pairs * delta * delta / 2) / variance;
+            double llrB = (-delta * sum - result.pairs * delta * delta / 2) / variance;
+            if (llrA >= accept) {
+                result.decision = Decision.A_BETTER;
+            } else if (llrB >= accept) {
+                result.decision = Decision.B_BETTER;
+            } else if (llrA <= reject && llrB <= reject) {
+                result.decision = Decision.NO_DIFFERENCE;
+            }
+            if (result.decision != Decision.INCONCLUSIVE) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static int play(WheelOfFortuneAIGame game, String phrase, WheelOfFortunePlayer player, long playerSeed) {
+        if (player instanceof StrategyPlayer) {
+            ((StrategyPlayer) player).getState().reset(playerSeed);
+        }
+        return game.play(phrase, player).getScore();
+    }
+
+    /**
+     * Returns the number of pairs a fixed-size test with the same alpha and beta would need to
+     * detect a mean difference of delta, given the standard deviation of what it compares.
+     *
+     * @param stdDev The standard deviation of one observation: of the paired difference, or, for
+     *               independent games, the square root of the sum of both score variances.
+     * @return The number of pairs.
+     */
+    public long fixedPairs(double stdDev) {
+        double z = normalQuantile(1 - alpha / 2) + normalQuantile(1 - beta);
+        return (long) Math.ceil(z * z * stdDev * stdDev / (delta * delta));
+    }
+
+    // Quantile of the standard normal distribution, Abramowitz and Stegun 26.2.23, error below 4.5e-4
+    private static double normalQuantile(double p) {
+        double q = p < 0.5 ? p : 1 - p;
+        double t = Math.sqrt(-2 * Math.log(q));
+        double x = t - (2.515517 + 0.802853 * t + 0.010328 * t * t) / (1 + 1.432788 * t + 0.189269 * t * t + 0.001308 * t * t * t);
+        return p < 0.5 ? -x : x;
+    }
+
+    @Override
+    public String toString() {
+        return "ABEvaluator{" +
+                "strategyA='" + strategyA + '\'' +
+                ", strategyB='" + strategyB + '\'' +
+                ", delta=" + delta +
+                ", alpha=" + alpha +
+                ", beta=" + beta +
+                ", maxPairs=" + maxPairs +
+                ", seed=" + seed +
+                '}';
+    }
+
+    /**
+     * The running totals and the decision of a comparison.
+     */
+    public static final class Result {
+        private Decision decision = Decision.INCONCLUSIVE;
+        private long pairs;
+        private double sumA;
+        private double sumSquaresA;
+        private double sumB;
+        private double sumSquaresB;
+        private double sumDiff;
+        private double sumSquaresDiff;
+
+        void add(int scoreA, int scoreB) {
+            pairs++;
+            sumA += scoreA;
+            sumSquaresA += (double) scoreA * scoreA;
+            sumB += scoreB;
+            sumSquaresB += (double) scoreB * scoreB;
+            int diff = scoreA - scoreB;
+            sumDiff += diff;
+            sumSquaresDiff += (double) diff * diff;
+        }
+
+        private static double variance(double sum, double sumSquares, long n) {
+            return n < 2 ? 0 : Math.max(0, (sumSquares - sum * sum / n) / (n - 1));
+        }
+
+        /**
+         * Returns the decision of the test.
+         *
+         * @return The decision.
+         */
+        public Decision getDecision() {
+            return decision;
+        }
+
+        /**
+         * Returns the number of pairs played, each one game per strategy.
+         *
+         * @return The number of pairs.
+         */
+        public long getPairs() {
+            return pairs;
+        }
+
+        /**
+         * Returns the mean score of strategy A.
+         *
+         * @return The mean score.
+         */
+        public double meanA() {
+            return pairs == 0 ? 0 : sumA / pairs;
+        }
+
+        /**
+         * Returns the mean score of strategy B.
+         *
+         * @return The mean score.
+         */
+        public double meanB() {
+            return pairs == 0 ? 0 : sumB / pairs;
+        }
+
+        /**
+         * Returns the mean of the paired differences, A minus B.
+         *
+         * @return The mean difference.
+         */
+        public double meanDiff() {
+            return pairs == 0 ? 0 : sumDiff / pairs;
+        }
+
+        /**
+         * Returns the variance of the paired differences.
+         *
+         * @return The variance.
+         */
+        public double varianceDiff() {
+            return variance(sumDiff, sumSquaresDiff, pairs);
+        }
+
+        /**
+         * Returns the variance the difference would have if the two games of a pair were independent.
+         *
+         * @return The sum of the variances of the two strategies' scores.
+         */
+        public double varianceIndependent() {
+            return variance(sumA, sumSquaresA, pairs) + variance(sumB, sumSquaresB, pairs);
+        }
+
+        /**
+         * Returns the half-width of the 95% confidence interval of the mean difference.
+         *
+         * @return The half-width.
+         */
+        public double halfWidth95() {
+            return pairs == 0 ? Double.POSITIVE_INFINITY : 1.96 * Math.sqrt(varianceDiff() / pairs);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s after %d pairs: A %.3f, B %.3f, A - B %.3f +/- %.3f",
+                    decision, pairs, meanA(), meanB(), meanDiff(), halfWidth95());
+        }
+    }
+
+    /**
+     * Compares two strategies and prints the decision, along with the number of pairs a fixed-size
+     * test would have needed with and without common random numbers.
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If the phrase file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                usage("Malformed option: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        if (!options.containsKey("phrases")) {
+            usage("Missing --phrases");
+        }
+
+        ABEvaluator evaluator;
+        try {
+            evaluator = new ABEvaluator(Phrases.read(Paths.get(options.get("phrases"))),
+                    options.getOrDefault("a", "smart"), options.getOrDefault("b", "mediocre"),
+                    Double.parseDouble(options.getOrDefault("delta", "0.1")),
+                    Double.parseDouble(options.getOrDefault("alpha", "0.05")),
+                    Double.parseDouble(options.getOrDefault("beta", "0.1")),
+                    Integer.parseInt(options.getOrDefault("max-pairs", "1000000")),
+                    Integer.parseInt(options.getOrDefault("check-every", "100")),
+                    Long.parseLong(options.getOrDefault("seed", "0")));
+        } catch (IllegalArgumentException e) {
+            usage(e.getMessage());
+            return;
+        }
+
+        long start = System.nanoTime();
+        Result result = evaluator.run();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println(result + " (" + millis + " ms)");
+        System.out.println("A fixed-size test would need " + evaluator.fixedPairs(Math.sqrt(result.varianceDiff()))
+                + " pairs with common random numbers, "
+                + evaluator.fixedPairs(Math.sqrt(result.varianceIndependent())) + " with independent games");
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: java ABEvaluator --phrases phrases.txt [--a smart] [--b mediocre] [--delta 0.1]"
+                + " [--alpha 0.05] [--beta 0.1] [--max-pairs 1000000] [--check-every 100] [--seed S]");
+        System.exit(2);
+    }
+}
@@ -3,10 +3,14 @@ import java.util.*;
 /**
  * The AllGamesRecord class maintains a record of all games played. It provides functionality
  * to calculate averages, retrieve high scores, and filter results by player.
+ * Records are kept in the order they were added, and the methods are synchronized so that games can
+ * be recorded while another thread queries or exports the record.
  */
 public class AllGamesRecord {
 
     private List<GameRecord> allGames; // List to store records of all games played
+    private final ScoreLeaderboard leaderboard = new ScoreLeaderboard(); // Rank index over all games
+    private final TimeWindowAggregates windows = new TimeWindowAggregates(); // Per-minute and per-hour aggregates
 
     /**
      * Constructs an AllGamesRecord with an empty list of game records.
@@ -20,8 +24,132 @@ public class AllGamesRecord {
      *
      * @param gameRecord The GameRecord to add.
      */
-    public void add(GameRecord gameRecord){
+    public synchronized void add(GameRecord gameRecord){
         allGames.add(gameRecord);
+        leaderboard.add(gameRecord);
+        windows.add(gameRecord);
+
+        GameJfrEvents.RecordAdded event = new GameJfrEvents.RecordAdded();
+        if (event.shouldCommit()) {
+            event.playerId = gameRecord.getPlayerId();
+            event.score = gameRecord.getScore();
+            event.totalRecords = allGames.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the rank a game with the given score would have among all games, in O(log S) time.
+     * Games with equal scores share a rank.
+     *
+     * @param score The score.
+     * @return The rank, starting at 1.
+     */
+    public long rank(int score) {
+        return leaderboard.rank(score);
+    }
+
+    /**
+     * Counts the games that scored strictly more than the given score, in O(log S) time.
+     *
+     * @param score The score.
+     * @return The number of games with a higher score.
+     */
+    public long countAbove(int score) {
+        return leaderboard.countAbove(score);
+    }
+
+    /**
+     * Returns the rank of a player's best game among all games, in O(log S) time.
+     *
+     * @param playerId The ID of the player.
+     * @return The rank of the player's best game, starting at 1, or 0 if the player has no games.
+     */
+    public long playerRank(String playerId) {
+        return leaderboard.playerRank(playerId);
+    }
+
+    /**
+     * Aggregates the games that ended in the given window from the per-minute or per-hour buckets,
+     * in time proportional to the number of buckets. The window is rounded out to whole buckets.
+     *
+     * @param fromMillis The start of the window, inclusive, in milliseconds since the epoch.
+     * @param toMillis   The end of the window, exclusive, in milliseconds since the epoch.
+     * @return The count, score sum and score histogram of the games in the window.
+     */
+    public synchronized TimeWindowAggregates.WindowStats windowStats(long fromMillis, long toMillis) {
+        return windows.window(fromMillis, toMillis);
+    }
+
+    /**
+     * Aggregates a player's games that ended in the given window, like windowStats.
+     *
+     * @param playerId   The ID of the player.
+     * @param fromMillis The start of the window, inclusive, in milliseconds since the epoch.
+     * @param toMillis   The end of the window, exclusive, in milliseconds since the epoch.
+     * @return The count, score sum and score histogram of the player's games in the window.
+     */
+    public synchronized TimeWindowAggregates.WindowStats windowStats(String playerId, long fromMillis, long toMillis) {
+        return windows.window(playerId, fromMillis, toMillis);
+    }
+
+    /**
+     * Aggregates the games that ended within the given time before now, such as the last hour.
+     *
+     * @param windowMillis The length of the window, in milliseconds.
+     * @return The count, score sum and score histogram of the games in the window.
+     */
+    public TimeWindowAggregates.WindowStats recentStats(long windowMillis) {
+        long now = System.currentTimeMillis();
+        return windowStats(now - windowMillis, now + 1);
+    }
+
+    /**
+     * Aggregates a player's games that ended within the given time before now.
+     *
+     * @param playerId     The ID of the player.
+     * @param windowMillis The length of the window, in milliseconds.
+     * @return The count, score sum and score histogram of the player's games in the window.
+     */
+    public TimeWindowAggregates.WindowStats recentStats(String playerId, long windowMillis) {
+        long now = System.currentTimeMillis();
+        return windowStats(playerId, now - windowMillis, now + 1);
+    }
+
+    /**
+     * Returns the leaderboard index kept over all games, for further rank queries. Its methods can
+     * be called from any thread without locking this record.
+     *
+     * @return The leaderboard.
+     */
+    public ScoreLeaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    /**
+     * Returns the number of games recorded.
+     *
+     * @return The number of game records.
+     */
+    public synchronized int size() {
+        return allGames.size();
+    }
+
+    /**
+     * Copies game records, in the order they were added, into the destination array, starting with
+     * the record at the given position. Exporters use this to walk the record in chunks while games
+     * keep being added.
+     *
+     * @param from        The position of the first record to copy.
+     * @param destination The array receiving the records.
+     * @return The number of records copied, 0 once from reaches the end of the record.
+     */
+    public synchronized int copyRecords(int from, GameRecord[] destination) {
+        int count = Math.max(0, Math.min(destination.length, allGames.size() - from));
+        for (int i = 0; i < count; i++) {
+            destination[i] = allGames.get(from + i);
+        }
+        return count;
     }
 
     /**
@@ -29,7 +157,7 @@ public class AllGamesRecord {
      *
      * @return The average score, or 0 if there are no games recorded.
      */
-    public int average(){
+    public synchronized int average(){
         int sum = 0;
 
         for (GameRecord rec : allGames){
@@ -44,7 +172,7 @@ public class AllGamesRecord {
      * @return String representation of the AllGamesRecord.
      */
     @Override
-    public String toString() {
+    public synchronized String toString() {
         return "AllGamesRecord{" +
                 "allGames=" + allGames +
                 '}';
@@ -61,7 +189,11 @@ public class AllGamesRecord {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AllGamesRecord that = (AllGamesRecord) o;
-        return Objects.equals(allGames, that.allGames);
+        return copyGames().equals(that.copyGames()); // One lock at a time, so two records comparing each other cannot deadlock
+    }
+
+    private synchronized List<GameRecord> copyGames() {
+        return new ArrayList<>(allGames);
     }
 
     /**
@@ -70,7 +202,7 @@ public class AllGamesRecord {
      * @return The hash code for this instance.
      */
     @Override
-    public int hashCode() {
+    public synchronized int hashCode() {
         return Objects.hashCode(allGames);
     }
 
@@ -80,7 +212,7 @@ public class AllGamesRecord {
      * @param playerId The ID of the player for whom the average is calculated.
      * @return The player's average score, or 0 if the player has no recorded games.
      */
-    public int playerAverage(String playerId){
+    public synchronized int playerAverage(String playerId){
         int sum = 0;
         int count = 0;
 
@@ -99,12 +231,13 @@ public class AllGamesRecord {
      * @param n The number of top game records to retrieve.
      * @return A list of up to n highest-scoring GameRecords.
      */
-    public List<GameRecord> highGameList(int n) {
-        // Sort allGames by score in descending order
-        Collections.sort(allGames, Comparator.comparingInt(GameRecord::getScore).reversed());
+    public synchronized List<GameRecord> highGameList(int n) {
+        // Sort a copy by score in descending order, so the record keeps the order games were added in
+        List<GameRecord> sorted = new ArrayList<>(allGames);
+        sorted.sort(Comparator.comparingInt(GameRecord::getScore).reversed());
 
         // Get the top n scores or the whole list if n is larger than the size
-        return allGames.subList(0, Math.min(n, allGames.size()));
+        return new ArrayList<>(sorted.subList(0, Math.min(n, sorted.size())));
     }
 
     /**
@@ -114,7 +247,7 @@ public class AllGamesRecord {
      * @param n The number of top game records to retrieve.
      * @return A list of up to n highest-scoring GameRecords for the specified player.
      */
-    public List<GameRecord> highGameList(String playerId, int n) {
+    public synchronized List<GameRecord> highGameList(String playerId, int n) {
         ArrayList<GameRecord> playerGames = new ArrayList<>();
 
         for (GameRecord rec : allGames) {
@@ -0,0 +1,207 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The AllocationBudgets class checks that the hot paths of the game loop do not churn the heap in
+ * steady state. Each hot path is declared below with a budget of bytes it may allocate per operation
+ * (per move, per game or per record). The check runs every path in a warm-up loop, so that the JIT has
+ * compiled it and escape analysis has removed what it can, then measures a second loop with
+ * ThreadMXBean.getThreadAllocatedBytes and divides by the number of operations. Budgets are amortized:
+ * a list that grows now and then is charged over all the operations of the measured loop.
+ *
+ * <p>Run it as a regression check after changing anything on these paths:</p>
+ *
+ * <pre>java AllocationBudgets [operations]</pre>
+ *
+ * <p>It prints the measured allocation of every path and exits with status 1 if any path is over
+ * budget, or with status 3 if the JVM cannot measure allocation at all.</p>
+ */
+public class AllocationBudgets {
+
+    private static final int WARMUP_OPERATIONS = 500_000; // Operations run before measuring, enough for the JIT to settle
+
+    private static final String[] PHRASES = {
+            "Java programming", "Artificial intelligence", "OpenAI is amazing", "The quick brown fox",
+            "Wheel of fortune", "Practice makes perfect", "Better late than never", "Actions speak louder than words"
+    };
+
+    private final List<Budget> budgets = new ArrayList<>(); // Hot paths in the order they are checked
+    private final com.sun.management.ThreadMXBean threads;
+
+    /**
+     * Constructs the check with the budget of every hot path.
+     *
+     * @throws IllegalStateException If this JVM cannot measure per-thread allocation.
+     */
+    public AllocationBudgets() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM cannot measure per-thread allocation");
+        }
+        this.threads = (com.sun.management.ThreadMXBean) bean;
+        ((com.sun.management.ThreadMXBean) bean).setThreadAllocatedMemoryEnabled(true);
+
+        // A whole game allocates its board and its game record
+        WheelOfFortuneAIGame game = new WheelOfFortuneAIGame(new ArrayList<>(), Arrays.asList(PHRASES));
+        game.setQuiet(true);
+        WheelOfFortunePlayer gamePlayer = new AIPlayer("budget");
+        declare("WheelOfFortuneAIGame.play", "game", 256, new Operation() {
+            private int next;
+
+            @Override
+            public void run() {
+                game.play(PHRASES[next++ & (PHRASES.length - 1)], gamePlayer);
+            }
+        });
+
+        MasterMind masterMind = new MasterMind(Integer.MAX_VALUE);
+        masterMind.generateSecretCode();
+        declare("MasterMind.scoreGuess", "move", 0, new Operation() {
+            private int guess;
+
+            @Override
+            public void run() {
+                masterMind.scoreGuess(guess++ & 0xff);
+            }
+        });
+
+        // Players guess on their own state, starting over before they run out of letters
+        declarePlayer(new AIPlayer("smart"));
+        declarePlayer(new AIPlayerMediocre("mediocre"));
+        declarePlayer(new AIPlayerDumb("dumb"));
+        declarePlayer(new LearningPlayer("learning", trainedModel()));
+        declarePlayer(new LexiconPlayer("lexicon", LexiconIndex.ofPhrases(Arrays.asList(PHRASES))), 512); // Scratch arrays per word
+
+        // Records reuse a few GameRecords, so only the list growth and the leaderboard count
+        AllGamesRecord record = new AllGamesRecord();
+        GameRecord[] games = new GameRecord[64];
+        for (int i = 0; i < games.length; i++) {
+            games[i] = new GameRecord(i % 20, "player" + (i % 4));
+        }
+        declare("AllGamesRecord.add", "record", 64, new Operation() {
+            private int next;
+
+            @Override
+            public void run() {
+                record.add(games[next++ & (games.length - 1)]);
+            }
+        });
+    }
+
+    private void declarePlayer(WheelOfFortunePlayer player) {
+        declarePlayer(player, 0);
+    }
+
+    private void declarePlayer(WheelOfFortunePlayer player, long bytesPerMove) {
+        String board = "**** ***********"; // Shown to players that read the board, like LexiconPlayer
+        declare(player.getClass().getSimpleName() + ".nextGuess", "move", bytesPerMove, new Operation() {
+            private int moves;
+
+            @Override
+            public void run() {
+                if (moves++ % 20 == 0) {
+                    player.reset();
+                }
+                player.observeBoard(board);
+                player.nextGuess();
+            }
+        });
+    }
+
+    private static LetterFrequencyModel trainedModel() {
+        LetterFrequencyModel model = new LetterFrequencyModel(256);
+        for (String phrase : PHRASES) {
+            model.learnPhrase(phrase);
+        }
+        model.refresh();
+        return model;
+    }
+
+    private void declare(String name, String unit, long bytesPerOperation, Operation operation) {
+        budgets.add(new Budget(name, unit, bytesPerOperation, operation));
+    }
+
+    /**
+     * Measures every hot path and compares it with its budget.
+     *
+     * @param operations The number of operations measured per hot path.
+     * @return The hot paths that went over budget, empty if all are within.
+     */
+    public List<String> check(int operations) {
+        long overhead = measure(() -> { }, operations); // What measuring an empty operation allocates
+        List<String> failures = new ArrayList<>();
+        for (Budget budget : budgets) {
+            measure(budget.operation, WARMUP_OPERATIONS);
+            long bytes = Math.max(0, measure(budget.operation, operations) - overhead);
+            double perOperation = (double) bytes / operations;
+            boolean over = perOperation > budget.bytesPerOperation;
+            System.out.printf("%-32s %10.1f bytes/%-6s budget %6d  %s%n",
+                    budget.name, perOperation, budget.unit, budget.bytesPerOperation, over ? "OVER" : "ok");
+            if (over) {
+                failures.add(budget.name);
+            }
+        }
+        return failures;
+    }
+
+    private long measure(Operation operation, int operations) {
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < operations; i++) {
+            operation.run();
+        }
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+
+    /**
+     * Runs the check.
+     * Usage: java AllocationBudgets [operations]
+     *
+     * @param args The optional number of operations measured per hot path.
+     */
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        AllocationBudgets budgets;
+        try {
+            budgets = new AllocationBudgets();
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
+            System.exit(3); // Nothing was measured, which is not the same as being over budget
+            return;
+        }
+        List<String> failures = budgets.check(operations);
+        if (!failures.isEmpty()) {
+            System.out.println("Over budget: " + failures);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * One step of a hot path.
+     */
+    private interface Operation {
+
+        // Method to run the operation once
+        void run();
+    }
+
+    /**
+     * A hot path and the bytes it may allocate per operation.
+     */
+    private static final class Budget {
+        private final String name;
+        private final String unit;            // What one operation is, such as a move or a game
+        private final long bytesPerOperation; // Allowed allocation per operation
+        private final Operation operation;
+
+        Budget(String name, String unit, long bytesPerOperation, Operation operation) {
+            this.name = name;
+            this.unit = unit;
+            this.bytesPerOperation = bytesPerOperation;
+            this.operation = operation;
+        }
+    }
+}
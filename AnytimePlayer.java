@@ -0,0 +1,19 @@
+/**
+ * An AnytimePlayer is a WheelOfFortunePlayer whose guesses come from a search that can be stopped at
+ * any time. Instead of answering one synchronous nextGuess call, it thinks about the board under a
+ * MoveBudget, offering its best guess so far each time it improves it, and the game takes whatever was
+ * offered last when the budget runs out. A game without a MoveDeadline still calls nextGuess.
+ */
+public interface AnytimePlayer extends WheelOfFortunePlayer {
+
+    // Method to search for the next guess on the board, offering each improvement to the budget as soon as it
+    // is found and stopping once the budget has expired. It runs on another thread than the game, must not
+    // change the player's state, and may still be running, with its offers ignored, after the game has moved on.
+    void think(CharSequence board, MoveBudget budget);
+
+    // Method to record the guess the game took, which may be a fallback rather than the player's own offer
+    void commitGuess(char letter);
+
+    // Method to get the LetterMasks of the letters this player already guessed in this game
+    int usedMask();
+}
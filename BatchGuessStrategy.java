@@ -0,0 +1,13 @@
+/**
+ * A BatchGuessStrategy chooses the next guess of many games in one call, for simulators that keep
+ * per-game state in parallel primitive arrays instead of PlayerState objects. For the same used
+ * letters and random state it must choose the same letter, and advance the random state the same
+ * way, as the strategy's GuessStrategy.nextGuess does on a PlayerState.
+ */
+public interface BatchGuessStrategy {
+
+    // Method to write, for each of the first count games listed in games, the LetterMasks bit of its next
+    // guess into guesses[k]. The strategy reads usedMasks[g] and may advance rngStates[g]; it must not
+    // mark the guesses as used, which is left to the simulator.
+    void nextGuesses(int[] games, int count, int[] usedMasks, long[] rngStates, int[] guesses);
+}
@@ -0,0 +1,343 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The BatchRunner is a headless command-line runner for large AI simulations. It deals a number of
+ * phrases from a phrase file, has every requested strategy play each dealt phrase, and prints summary
+ * statistics and throughput at the end. Games run silently on a pool of threads and nothing is ever
+ * read from the console, so the runner can be used from scripts and scheduled jobs.
+ *
+ * <p>Games are dealt in fixed-size chunks, and every chunk and every game derives its random seed from
+ * the run seed, so a run with the same seed gives the same results whatever the number of threads.
+ * This holds for the default strategies, which are StrategyRegistry's deterministic ones; strategies
+ * that learn across games, such as "learning", can be requested but are not reproducible.</p>
+ *
+ * <p>Usage: java BatchRunner --phrases phrases.txt [--strategies smart,mediocre,dumb] [--games 100000]
+ * [--threads N] [--seed S] [--format text|csv|json]</p>
+ */
+public class BatchRunner {
+
+    private static final int CHUNK_SIZE = 4096; // Games dealt per task
+    private static final int MAX_SCORE = 26;    // A game scores at most one point per letter
+
+    /**
+     * The format of the summary printed at the end of a run.
+     */
+    public enum Format {
+        TEXT, CSV, JSON
+    }
+
+    private final List<String> phrases;    // Phrases to deal games from
+    private final List<String> strategies; // Strategy names from StrategyRegistry
+    private final long games;              // Number of phrases dealt; every strategy plays each one
+    private final int threads;             // Number of simulation threads
+    private final long seed;               // Seed of the whole run
+
+    /**
+     * Constructs a BatchRunner.
+     *
+     * @param phrases    The phrases to deal games from.
+     * @param strategies The names of the strategies to run, as registered in StrategyRegistry.
+     * @param games      The number of phrases to deal. Every strategy plays every dealt phrase.
+     * @param threads    The number of simulation threads.
+     * @param seed       The seed of the run.
+     */
+    public BatchRunner(List<String> phrases, List<String> strategies, long games, int threads, long seed) {
+        if (phrases.isEmpty() || strategies.isEmpty() || games <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Need at least one phrase, one strategy, one game and one thread");
+        }
+        for (String strategy : strategies) {
+            StrategyRegistry.create(strategy, strategy); // Fails early on unknown names
+        }
+        this.phrases = new ArrayList<>(phrases);
+        this.strategies = new ArrayList<>(strategies);
+        this.games = games;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs all games and returns the statistics of each strategy.
+     *
+     * @return The statistics of every strategy, in the order the strategies were given.
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the games.
+     */
+    public Map<String, StrategyStats> run() throws InterruptedException {
+        ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new); // One game and deck per pool thread
+        List<Callable<StrategyStats[]>> tasks = new ArrayList<>();
+        for (long start = 0; start < games; start += CHUNK_SIZE) {
+            long chunkStart = start;
+            int chunkGames = (int) Math.min(CHUNK_SIZE, games - start);
+            tasks.add(() -> runChunk(workers.get(), chunkStart, chunkGames));
+        }
+
+        Map<String, StrategyStats> totals = new LinkedHashMap<>();
+        for (String strategy : strategies) {
+            totals.put(strategy, new StrategyStats(strategy));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (Future<StrategyStats[]> future : pool.invokeAll(tasks)) {
+                StrategyStats[] chunkStats = future.get();
+                for (StrategyStats stats : chunkStats) {
+                    totals.get(stats.getStrategy()).merge(stats);
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return totals;
+    }
+
+    private StrategyStats[] runChunk(Worker worker, long chunkStart, int chunkGames) {
+        int chunk = (int) (chunkStart / CHUNK_SIZE);
+        worker.random.setSeed(PlayerState.seedFor(seed, chunk)); // Same draws as a new Random with this seed
+        worker.deck.restart();
+        PhraseScheduler deck = worker.deck;
+        WheelOfFortuneAIGame game = worker.game;
+
+        WheelOfFortunePlayer[] players = new WheelOfFortunePlayer[strategies.size()];
+        StrategyStats[] stats = new StrategyStats[strategies.size()];
+        for (int s = 0; s < players.length; s++) {
+            players[s] = StrategyRegistry.create(strategies.get(s), strategies.get(s));
+            stats[s] = new StrategyStats(strategies.get(s));
+        }
+
+        for (int g = 0; g < chunkGames; g++) {
+            String phrase = deck.next();
+            long gameSeed = PlayerState.seedFor(seed, chunkStart + g);
+            for (int s = 0; s < players.length; s++) {
+                if (players[s] instanceof StrategyPlayer) {
+                    ((StrategyPlayer) players[s]).getState().reset(PlayerState.seedFor(gameSeed, s));
+                }
+                int score = game.play(phrase, players[s]).getScore();
+                stats[s].add(score, game.isWinningGuess(null));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * The game and deck a pool thread reuses for all of its chunks, since building them copies the
+     * whole corpus.
+     */
+    private final class Worker {
+        private final Random random = new Random();
+        private final ShuffledDeckScheduler deck = new ShuffledDeckScheduler(phrases, random);
+        private final WheelOfFortuneAIGame game = new WheelOfFortuneAIGame(new ArrayList<>(), phrases);
+
+        Worker() {
+            game.setQuiet(true);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchRunner{" +
+                "phrases=" + phrases.size() +
+                ", strategies=" + strategies +
+                ", games=" + games +
+                ", threads=" + threads +
+                ", seed=" + seed +
+                '}';
+    }
+
+    /**
+     * Prints the statistics of a run in the given format.
+     *
+     * @param stats  The statistics of each strategy.
+     * @param format The output format.
+     * @param millis The duration of the run in milliseconds.
+     */
+    static void printSummary(Map<String, StrategyStats> stats, Format format, long millis) {
+        long totalGames = 0;
+        for (StrategyStats s : stats.values()) {
+            totalGames += s.getGames();
+        }
+        double gamesPerSecond = totalGames * 1000.0 / Math.max(1, millis);
+
+        switch (format) {
+            case CSV:
+                System.out.println("strategy,games,mean_score,solve_rate,p50,p90,max");
+                for (StrategyStats s : stats.values()) {
+                    System.out.println(String.format(Locale.ROOT, "%s,%d,%.4f,%.4f,%d,%d,%d", s.getStrategy(),
+                            s.getGames(), s.meanScore(), s.solveRate(), s.percentile(0.5), s.percentile(0.9), s.maxScore()));
+                }
+                System.out.println(String.format(Locale.ROOT, "# %d games in %d ms (%.0f games/s)", totalGames, millis, gamesPerSecond));
+                break;
+            case JSON:
+                StringBuilder json = new StringBuilder("{\"games\":").append(totalGames)
+                        .append(",\"millis\":").append(millis)
+                        .append(",\"gamesPerSecond\":").append(String.format(Locale.ROOT, "%.1f", gamesPerSecond))
+                        .append(",\"strategies\":[");
+                String separator = "";
+                for (StrategyStats s : stats.values()) {
+                    json.append(separator).append(String.format(Locale.ROOT,
+                            "{\"strategy\":\"%s\",\"games\":%d,\"meanScore\":%.4f,\"solveRate\":%.4f,\"p50\":%d,\"p90\":%d,\"max\":%d}",
+                            RecordExporter.jsonString(s.getStrategy()), s.getGames(), s.meanScore(), s.solveRate(),
+                            s.percentile(0.5), s.percentile(0.9), s.maxScore()));
+                    separator = ",";
+                }
+                System.out.println(json.append("]}"));
+                break;
+            default:
+                System.out.println(String.format(Locale.ROOT, "%-12s %10s %10s %10s %5s %5s %5s",
+                        "strategy", "games", "mean", "solved", "p50", "p90", "max"));
+                for (StrategyStats s : stats.values()) {
+                    System.out.println(String.format(Locale.ROOT, "%-12s %10d %10.3f %9.1f%% %5d %5d %5d", s.getStrategy(),
+                            s.getGames(), s.meanScore(), s.solveRate() * 100, s.percentile(0.5), s.percentile(0.9), s.maxScore()));
+                }
+                System.out.println(String.format(Locale.ROOT, "%d games in %d ms (%.0f games/s)", totalGames, millis, gamesPerSecond));
+        }
+    }
+
+    /**
+     * Runs a batch simulation from the command line.
+     *
+     * @param args The command-line options, see the class documentation.
+     * @throws IOException          If the phrase file cannot be read.
+     * @throws InterruptedException If the run is interrupted.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                usage("Malformed option: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        if (!options.containsKey("phrases")) {
+            usage("Missing --phrases");
+        }
+
+        BatchRunner runner;
+        Format format;
+        try {
+            List<String> phrases = Phrases.read(Paths.get(options.get("phrases")));
+            List<String> strategies = options.containsKey("strategies")
+                    ? Arrays.asList(options.get("strategies").split(","))
+                    : StrategyRegistry.deterministicNames();
+            long games = Long.parseLong(options.getOrDefault("games", "100000"));
+            int threads = Integer.parseInt(options.getOrDefault("threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            long seed = Long.parseLong(options.getOrDefault("seed", "0"));
+            format = Format.valueOf(options.getOrDefault("format", "text").toUpperCase(Locale.ROOT));
+            runner = new BatchRunner(phrases, strategies, games, threads, seed);
+        } catch (IllegalArgumentException e) {
+            usage(e.getMessage());
+            return;
+        }
+
+        long start = System.nanoTime();
+        Map<String, StrategyStats> stats = runner.run();
+        printSummary(stats, format, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: java BatchRunner --phrases phrases.txt [--strategies smart,mediocre,dumb]"
+                + " [--games 100000] [--threads N] [--seed S] [--format text|csv|json]");
+        System.exit(2);
+    }
+
+    /**
+     * The aggregated results of one strategy: game count, score sum and histogram, and solve count.
+     * Instances are filled by a single thread and merged afterwards.
+     */
+    public static final class StrategyStats {
+        private final String strategy;
+        private final long[] histogram = new long[MAX_SCORE + 1]; // Games per score
+        private long games;
+        private long scoreSum;
+        private long solved;
+
+        StrategyStats(String strategy) {
+            this.strategy = strategy;
+        }
+
+        void add(int score, boolean wasSolved) {
+            histogram[Math.min(score, MAX_SCORE)]++;
+            games++;
+            scoreSum += score;
+            if (wasSolved) {
+                solved++;
+            }
+        }
+
+        void merge(StrategyStats other) {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+            games += other.games;
+            scoreSum += other.scoreSum;
+            solved += other.solved;
+        }
+
+        public String getStrategy() {
+            return strategy;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public double meanScore() {
+            return games == 0 ? 0 : (double) scoreSum / games;
+        }
+
+        public double solveRate() {
+            return games == 0 ? 0 : (double) solved / games;
+        }
+
+        /**
+         * Returns the smallest score that at least the given fraction of games did not exceed.
+         *
+         * @param fraction The fraction, from 0 to 1.
+         * @return The score at that percentile.
+         */
+        public int percentile(double fraction) {
+            long target = (long) Math.ceil(fraction * games);
+            long seen = 0;
+            for (int score = 0; score < histogram.length; score++) {
+                seen += histogram[score];
+                if (seen >= target && seen > 0) {
+                    return score;
+                }
+            }
+            return 0;
+        }
+
+        public int maxScore() {
+            for (int score = histogram.length - 1; score > 0; score--) {
+                if (histogram[score] > 0) {
+                    return score;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "StrategyStats{" +
+                    "strategy='" + strategy + '\'' +
+                    ", games=" + games +
+                    ", meanScore=" + meanScore() +
+                    ", solveRate=" + solveRate() +
+                    '}';
+        }
+    }
+}
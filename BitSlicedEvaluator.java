@@ -0,0 +1,278 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The BitSlicedEvaluator scores a fixed guess order against a whole phrase corpus at once. A strategy
+ * that always guesses letters in the same order, such as AIPlayerMediocre's common letter list, gets a
+ * result on a phrase that depends only on the set of letters in the phrase. The evaluator therefore
+ * transposes the corpus into one bitset per letter (bit i set when phrase i contains the letter) and
+ * plays each guess against 64 phrases per long word: hits and misses are a single AND / ANDNOT, and
+ * each phrase's score and miss count are kept as bit-sliced counters, one long per counter bit.
+ *
+ * <p>The scores are the same as those of WheelOfFortuneAIGame.play for a player guessing in the given
+ * order: a game ends when the phrase is fully revealed or the player runs out of misses, and every
+ * correct guess scores one point. Games that have not ended when the guess order runs out are reported
+ * as unfinished.</p>
+ */
+public class BitSlicedEvaluator {
+
+    private static final int SLICES = 27;     // 26 letters plus the unguessable-letter slice
+    private static final int SCORE_BITS = 5;  // Enough for a score of up to 31
+    private static final int PARALLEL_THRESHOLD = 1024; // Words below which evaluation stays on one thread
+
+    private final int phraseCount;
+    private final int words;       // Number of 64-phrase words
+    private final long[] slices;   // slices[w * SLICES + c]: phrases of word w containing letter c
+
+    /**
+     * Constructs a BitSlicedEvaluator by transposing the corpus into per-letter phrase bitsets.
+     *
+     * @param corpus The phrases to evaluate, indexed by their position in the list.
+     */
+    public BitSlicedEvaluator(List<String> corpus) {
+        this.phraseCount = corpus.size();
+        this.words = (phraseCount + 63) >>> 6;
+        this.slices = new long[words * SLICES];
+        for (int i = 0; i < phraseCount; i++) {
+            int mask = LetterMasks.phraseMask(corpus.get(i));
+            int base = (i >>> 6) * SLICES;
+            long bit = 1L << i;
+            while (mask != 0) {
+                int letter = Integer.numberOfTrailingZeros(mask); // Bit 26 is the unguessable slice
+                slices[base + letter] |= bit;
+                mask &= mask - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of phrases in the corpus.
+     *
+     * @return The number of phrases.
+     */
+    public int size() {
+        return phraseCount;
+    }
+
+    /**
+     * Plays the deterministic prefix of a player against every phrase.
+     *
+     * @param player    The player whose deterministic prefix is evaluated.
+     * @param maxMisses The number of incorrect guesses allowed.
+     * @return The per-phrase results.
+     */
+    public Result evaluate(WheelOfFortunePlayer player, int maxMisses) {
+        return evaluate(player.deterministicPrefix(), maxMisses);
+    }
+
+    /**
+     * Plays the guess order against every phrase.
+     *
+     * @param guessOrder The letters guessed, in order, without repeats.
+     * @param maxMisses  The number of incorrect guesses allowed.
+     * @return The per-phrase results.
+     */
+    public Result evaluate(char[] guessOrder, int maxMisses) {
+        if (maxMisses <= 0) {
+            throw new IllegalArgumentException("maxMisses must be positive: " + maxMisses);
+        }
+        int steps = guessOrder.length;
+        int[] letters = new int[steps];        // Slice index of each guess, or -1 if it is not a letter
+        int[][] unguessed = new int[steps][];  // Letters still unguessed after each step
+        int guessed = 0;
+        for (int k = 0; k < steps; k++) {
+            int bit = LetterMasks.bit(guessOrder[k]);
+            if (bit != 0 && (guessed & bit) != 0) {
+                throw new IllegalArgumentException("Guess order repeats the letter " + guessOrder[k]);
+            }
+            letters[k] = bit == 0 ? -1 : Integer.numberOfTrailingZeros(bit);
+            guessed |= bit;
+            unguessed[k] = lettersOf(LetterMasks.ALPHABET & ~guessed);
+        }
+        int missBits = 32 - Integer.numberOfLeadingZeros(maxMisses);
+
+        Result result = new Result(phraseCount);
+        IntStream range = IntStream.range(0, words);
+        if (words >= PARALLEL_THRESHOLD) {
+            range = range.parallel(); // Words are independent of each other
+        }
+        range.forEach(w -> evaluateWord(w, letters, unguessed, maxMisses, missBits, result));
+        return result;
+    }
+
+    private void evaluateWord(int w, int[] letters, int[][] unguessed, int maxMisses, int missBits, Result result) {
+        int base = w * SLICES;
+        long alive = 0; // Phrases whose game is still running
+        for (int c = 0; c < SLICES; c++) {
+            alive |= slices[base + c];
+        }
+        long[] score = new long[SCORE_BITS];
+        long[] misses = new long[missBits];
+
+        for (int k = 0; k < letters.length && alive != 0; k++) {
+            long contains = letters[k] < 0 ? 0 : slices[base + letters[k]];
+            increment(score, alive & contains);
+            increment(misses, alive & ~contains);
+
+            long unsolved = slices[base + 26];
+            for (int letter : unguessed[k]) {
+                unsolved |= slices[base + letter];
+            }
+            long exhausted = equalTo(misses, maxMisses);
+            alive &= unsolved & ~exhausted;
+        }
+
+        for (int j = 0; j < 64; j++) {
+            int phrase = (w << 6) + j;
+            if (phrase >= phraseCount) {
+                break;
+            }
+            result.scores[phrase] = decode(score, j);
+            result.misses[phrase] = decode(misses, j);
+        }
+
+        long present = (w << 6) + 64 <= phraseCount ? -1L : (1L << (phraseCount - (w << 6))) - 1;
+        long finished = present & ~alive;
+        long anyLetter = 0;
+        for (int c = 0; c < SLICES; c++) {
+            anyLetter |= slices[base + c];
+        }
+        // A finished game either ran out of misses or revealed the whole phrase
+        result.finished[w] = finished;
+        result.solved[w] = finished & ~(equalTo(misses, maxMisses) & anyLetter);
+    }
+
+    // Adds one to the bit-sliced counter of every phrase selected by the mask
+    private static void increment(long[] planes, long mask) {
+        long carry = mask;
+        for (int b = 0; b < planes.length && carry != 0; b++) {
+            long next = planes[b] & carry;
+            planes[b] ^= carry;
+            carry = next;
+        }
+    }
+
+    // Returns the mask of phrases whose bit-sliced counter equals the value
+    private static long equalTo(long[] planes, int value) {
+        long equal = -1L;
+        for (int b = 0; b < planes.length; b++) {
+            equal &= ((value >>> b) & 1) != 0 ? planes[b] : ~planes[b];
+        }
+        return equal;
+    }
+
+    private static int decode(long[] planes, int bit) {
+        int value = 0;
+        for (int b = 0; b < planes.length; b++) {
+            value |= (int) ((planes[b] >>> bit) & 1) << b;
+        }
+        return value;
+    }
+
+    private static int[] lettersOf(int mask) {
+        int[] letters = new int[Integer.bitCount(mask)];
+        for (int i = 0; mask != 0; i++) {
+            letters[i] = Integer.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+        }
+        return letters;
+    }
+
+    @Override
+    public String toString() {
+        return "BitSlicedEvaluator{" +
+                "phrases=" + phraseCount +
+                ", words=" + words +
+                '}';
+    }
+
+    /**
+     * The per-phrase outcome of evaluating one guess order, indexed like the corpus.
+     */
+    public static final class Result {
+        private final int[] scores;
+        private final int[] misses;
+        private final long[] finished; // Bitset of phrases whose game ended within the guess order
+        private final long[] solved;   // Bitset of phrases that were fully revealed
+
+        private Result(int phraseCount) {
+            this.scores = new int[phraseCount];
+            this.misses = new int[phraseCount];
+            this.finished = new long[(phraseCount + 63) >>> 6];
+            this.solved = new long[finished.length];
+        }
+
+        /**
+         * Returns the score of the game on a phrase.
+         *
+         * @param phrase The index of the phrase in the corpus.
+         * @return The number of correct guesses.
+         */
+        public int score(int phrase) {
+            return scores[phrase];
+        }
+
+        /**
+         * Returns the number of misses of the game on a phrase.
+         *
+         * @param phrase The index of the phrase in the corpus.
+         * @return The number of incorrect guesses.
+         */
+        public int misses(int phrase) {
+            return misses[phrase];
+        }
+
+        /**
+         * Tells whether the game on a phrase ended within the guess order. The score of an unfinished
+         * game is the score so far.
+         *
+         * @param phrase The index of the phrase in the corpus.
+         * @return true if the game ended, otherwise false.
+         */
+        public boolean isFinished(int phrase) {
+            return (finished[phrase >>> 6] & (1L << phrase)) != 0;
+        }
+
+        /**
+         * Tells whether the phrase was fully revealed.
+         *
+         * @param phrase The index of the phrase in the corpus.
+         * @return true if the phrase was solved, otherwise false.
+         */
+        public boolean isSolved(int phrase) {
+            return (solved[phrase >>> 6] & (1L << phrase)) != 0;
+        }
+
+        /**
+         * Returns the number of games that ended within the guess order.
+         *
+         * @return The number of finished games.
+         */
+        public int finishedCount() {
+            int count = 0;
+            for (long word : finished) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+
+        /**
+         * Returns the score of every phrase.
+         *
+         * @return A copy of the per-phrase scores.
+         */
+        public int[] scores() {
+            return scores.clone();
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "phrases=" + scores.length +
+                    ", finished=" + finishedCount() +
+                    ", scores=" + (scores.length <= 16 ? Arrays.toString(scores) : "[...]") +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,344 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CheckpointedTournament plays the same sweep as WheelOfFortuneAIGame.playAll, where every
+ * strategy plays every phrase once, but records its progress in a checkpoint file so that a crashed or
+ * stopped sweep resumes where it left off instead of starting over.
+ *
+ * <p>Worker threads play phrases and hand each finished phrase's scores to a queue without ever
+ * waiting. A single checkpoint thread periodically drains the queue into the completed-phrase set and
+ * the aggregated GameSummary, both of which only it touches, and writes them to a temporary file that
+ * is then atomically moved over the checkpoint. On start, an existing checkpoint for the same corpus,
+ * strategies and seed is loaded and its completed phrases are skipped.</p>
+ *
+ * <p>The random stream of every game is seeded from the tournament seed and the game's position in
+ * the sweep, so a game replayed after a resume draws exactly the same letters. That is why the
+ * checkpoint does not need to hold the players' random states, and a resumed tournament ends with
+ * the same results as an uninterrupted one. Strategies that learn across games, such as "learning",
+ * are the exception.</p>
+ */
+public class CheckpointedTournament {
+
+    private static final int MAGIC = 0x57434b50; // "WCKP"
+    private static final int VERSION = 1;
+    private static final int CHUNK_SIZE = 64;    // Phrases per worker task
+    private static final int TOP_N = 10;         // Top scores kept per player
+
+    private final List<String> phrases;
+    private final List<String> strategies;   // Strategy names from StrategyRegistry, also the player IDs
+    private final long seed;                 // Seed of the whole tournament
+    private final int threads;               // Number of worker threads
+    private final Path checkpointFile;
+    private final long checkpointMillis;     // Interval between checkpoints
+    private final ConcurrentLinkedQueue<PhraseResult> finished = new ConcurrentLinkedQueue<>();
+
+    // Owned by the checkpoint thread while the tournament runs
+    private BitSet completed;
+    private GameSummary summary;
+    private int resumedPhrases;              // Phrases already completed when the tournament started
+    private int checkpointsWritten;
+
+    /**
+     * Constructs a CheckpointedTournament.
+     *
+     * @param phrases          The phrases every strategy plays once.
+     * @param strategies       The names of the strategies, as registered in StrategyRegistry.
+     * @param seed             The seed of the tournament.
+     * @param threads          The number of worker threads.
+     * @param checkpointFile   The checkpoint file to resume from and write to.
+     * @param checkpointMillis The interval between checkpoints in milliseconds.
+     */
+    public CheckpointedTournament(List<String> phrases, List<String> strategies, long seed, int threads,
+                                  Path checkpointFile, long checkpointMillis) {
+        if (phrases.isEmpty() || strategies.isEmpty() || threads <= 0 || checkpointMillis <= 0) {
+            throw new IllegalArgumentException("Need at least one phrase, strategy and thread, and a positive interval");
+        }
+        this.phrases = new ArrayList<>(phrases);
+        this.strategies = new ArrayList<>(strategies);
+        this.seed = seed;
+        this.threads = threads;
+        this.checkpointFile = checkpointFile.toAbsolutePath();
+        this.checkpointMillis = checkpointMillis;
+    }
+
+    /**
+     * Runs the tournament, resuming from the checkpoint file if it holds progress of this tournament.
+     *
+     * @return The summary of every game of the tournament.
+     * @throws IOException If the checkpoint cannot be written, or a game fails.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public GameSummary run() throws IOException, InterruptedException {
+        if (!load()) {
+            completed = new BitSet(phrases.size());
+            summary = new GameSummary(TOP_N);
+        }
+        resumedPhrases = completed.cardinality();
+
+        List<int[]> chunks = new ArrayList<>(); // Phrase indexes still to play, per task
+        List<Integer> pending = new ArrayList<>();
+        for (int p = completed.nextClearBit(0); p < phrases.size(); p = completed.nextClearBit(p + 1)) {
+            pending.add(p);
+            if (pending.size() == CHUNK_SIZE) {
+                chunks.add(toArray(pending));
+                pending.clear();
+            }
+        }
+        if (!pending.isEmpty()) {
+            chunks.add(toArray(pending));
+        }
+
+        ScheduledExecutorService checkpointer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "wof-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkpointer.scheduleWithFixedDelay(this::checkpointQuietly, checkpointMillis, checkpointMillis, TimeUnit.MILLISECONDS);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int[] chunk : chunks) {
+                futures.add(pool.submit(() -> playChunk(chunk)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("Tournament game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            checkpointer.shutdown();
+            // Hands the state back to this thread, which must not checkpoint while a scheduled one still runs
+            while (!checkpointer.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.err.println("Waiting for the running checkpoint to finish");
+            }
+        }
+        checkpoint(); // Record everything, including games finished after the last scheduled checkpoint
+        return summary;
+    }
+
+    private void playChunk(int[] chunk) {
+        List<String> chunkPhrases = new ArrayList<>(chunk.length);
+        for (int phrase : chunk) {
+            chunkPhrases.add(phrases.get(phrase));
+        }
+        WheelOfFortuneAIGame game = new WheelOfFortuneAIGame(new ArrayList<>(), chunkPhrases); // Copies the chunk, not the corpus
+        game.setQuiet(true);
+        WheelOfFortunePlayer[] players = new WheelOfFortunePlayer[strategies.size()];
+        for (int s = 0; s < players.length; s++) {
+            players[s] = StrategyRegistry.create(strategies.get(s), strategies.get(s));
+        }
+
+        for (int phrase : chunk) {
+            int[] scores = new int[players.length];
+            for (int s = 0; s < players.length; s++) {
+                if (players[s] instanceof StrategyPlayer) {
+                    long gameIndex = (long) phrase * players.length + s;
+                    ((StrategyPlayer) players[s]).getState().reset(PlayerState.seedFor(seed, gameIndex));
+                }
+                scores[s] = game.play(phrases.get(phrase), players[s]).getScore();
+            }
+            finished.add(new PhraseResult(phrase, scores)); // Never blocks the worker
+        }
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (IOException | RuntimeException e) {
+            // Any exception escaping a scheduled task would silently cancel every later checkpoint
+            System.err.println("Checkpoint failed, will retry: " + e);
+        }
+    }
+
+    /**
+     * Folds the finished phrases into the tournament state and writes the checkpoint. Only ever runs
+     * on one thread at a time: the checkpoint thread, then the tournament thread once it has stopped.
+     */
+    private void checkpoint() throws IOException {
+        PhraseResult result;
+        boolean changed = false;
+        while ((result = finished.poll()) != null) {
+            if (!completed.get(result.phrase)) {
+                completed.set(result.phrase);
+                for (int s = 0; s < result.scores.length; s++) {
+                    summary.add(new GameRecord(result.scores[s], strategies.get(s)));
+                }
+                changed = true;
+            }
+        }
+        if (changed || !Files.exists(checkpointFile)) {
+            write();
+        }
+    }
+
+    private void write() throws IOException {
+        Path temp = Files.createTempFile(checkpointFile.getParent(), checkpointFile.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            writeHeader(out);
+            long[] words = completed.toLongArray();
+            out.writeInt(words.length);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+            summary.writeTo(out);
+        }
+        try {
+            Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        checkpointsWritten++;
+    }
+
+    private void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(seed);
+        out.writeInt(phrases.size());
+        out.writeLong(corpusHash());
+        out.writeInt(strategies.size());
+        for (String strategy : strategies) {
+            out.writeUTF(strategy);
+        }
+    }
+
+    /**
+     * Loads the checkpoint file if it was written by this tournament: same seed, corpus and
+     * strategies. Any other file is ignored and will be overwritten.
+     */
+    private boolean load() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointFile), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != seed
+                    || in.readInt() != phrases.size() || in.readLong() != corpusHash()) {
+                return false;
+            }
+            int strategyCount = in.readInt();
+            List<String> fileStrategies = new ArrayList<>(strategyCount);
+            for (int i = 0; i < strategyCount; i++) {
+                fileStrategies.add(in.readUTF());
+            }
+            if (!fileStrategies.equals(strategies)) {
+                return false;
+            }
+            long[] words = new long[in.readInt()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.readLong();
+            }
+            completed = BitSet.valueOf(words);
+            summary = GameSummary.readFrom(in);
+            return true;
+        }
+    }
+
+    private long corpusHash() {
+        long hash = 0;
+        for (String phrase : phrases) {
+            hash = hash * 31 + Phrases.hash64(phrase);
+        }
+        return hash;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Returns the number of phrases that had already been played when the tournament resumed.
+     *
+     * @return The number of phrases taken from the checkpoint.
+     */
+    public int getResumedPhrases() {
+        return resumedPhrases;
+    }
+
+    /**
+     * Returns the number of checkpoints written by the last run.
+     *
+     * @return The number of checkpoints.
+     */
+    public int getCheckpointsWritten() {
+        return checkpointsWritten;
+    }
+
+    @Override
+    public String toString() {
+        return "CheckpointedTournament{" +
+                "phrases=" + phrases.size() +
+                ", strategies=" + strategies +
+                ", seed=" + seed +
+                ", threads=" + threads +
+                ", checkpointFile=" + checkpointFile +
+                '}';
+    }
+
+    /**
+     * Runs or resumes a checkpointed tournament.
+     * Usage: java CheckpointedTournament phrases.txt checkpoint.bin [strategies] [seed] [threads]
+     *
+     * @param args The command-line arguments.
+     * @throws Exception If the tournament fails.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: java CheckpointedTournament phrases.txt checkpoint.bin [strategies] [seed] [threads]");
+            System.exit(2);
+        }
+        List<String> phrases = Phrases.read(Paths.get(args[0]));
+        List<String> strategies = args.length > 2 ? Arrays.asList(args[2].split(",")) : StrategyRegistry.deterministicNames();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        CheckpointedTournament tournament = new CheckpointedTournament(phrases, strategies, seed, threads, Paths.get(args[1]), 1000);
+        GameSummary summary = tournament.run();
+        if (tournament.getResumedPhrases() > 0) {
+            System.out.println("Resumed after " + tournament.getResumedPhrases() + " of " + phrases.size() + " phrases");
+        }
+        System.out.println("Average Score: " + summary.average());
+        for (String playerId : summary.playerIds()) {
+            System.out.println("  " + playerId + ": " + summary.playerAverage(playerId));
+        }
+        System.out.println("Top Scores:");
+        summary.highGameList(5).forEach(System.out::println);
+    }
+
+    /**
+     * The scores of every strategy on one phrase.
+     */
+    private static final class PhraseResult {
+        private final int phrase;   // Index of the phrase
+        private final int[] scores; // Score of each strategy, in strategy order
+
+        PhraseResult(int phrase, int[] scores) {
+            this.phrase = phrase;
+            this.scores = scores;
+        }
+    }
+}
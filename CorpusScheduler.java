@@ -0,0 +1,68 @@
+import java.util.Random;
+
+/**
+ * The CorpusScheduler deals phrases from whatever snapshot of a PhraseCorpus is current, like a
+ * ShuffledDeckScheduler over that snapshot. When a reload publishes a new snapshot, the next draw
+ * starts a fresh deck over it, so new games pick up the new phrases while a game already in
+ * progress keeps the phrase it drew.
+ */
+public class CorpusScheduler implements PhraseScheduler {
+
+    private final PhraseCorpus corpus;
+    private final Random random;
+    private PhraseCorpus.Snapshot snapshot; // Snapshot the deck was built over
+    private ShuffledDeckScheduler deck;     // Deck over the snapshot's phrases
+
+    /**
+     * Constructs a CorpusScheduler with an unseeded random source.
+     *
+     * @param corpus The corpus to draw from.
+     */
+    public CorpusScheduler(PhraseCorpus corpus) {
+        this(corpus, new Random());
+    }
+
+    /**
+     * Constructs a CorpusScheduler using the given random source for every deck it builds.
+     *
+     * @param corpus The corpus to draw from.
+     * @param random The random source used to shuffle.
+     */
+    public CorpusScheduler(PhraseCorpus corpus, Random random) {
+        this.corpus = corpus;
+        this.random = random;
+    }
+
+    /**
+     * Draws the next phrase from the deck of the current snapshot.
+     *
+     * @return The next phrase.
+     */
+    @Override
+    public synchronized String next() {
+        PhraseCorpus.Snapshot latest = corpus.current();
+        if (latest != snapshot) {
+            snapshot = latest;
+            deck = new ShuffledDeckScheduler(latest.phrases(), random);
+        }
+        return deck.next();
+    }
+
+    /**
+     * Returns the number of phrases in the current snapshot.
+     *
+     * @return The size of the corpus.
+     */
+    @Override
+    public int size() {
+        return corpus.current().size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CorpusScheduler{" +
+                "corpus=" + corpus +
+                ", deck=" + deck +
+                '}';
+    }
+}
@@ -0,0 +1,372 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The DistributedCoordinator runs a strategy sweep across several worker JVMs on the local machine,
+ * so that no single heap has to hold the whole simulation. The phrase corpus is cut into shards of
+ * consecutive phrases, and each (shard, strategy) pair becomes one job. Workers are launched as child
+ * processes running this class with --worker. Each one reads the phrase file itself, receives jobs on
+ * its standard input and streams back a GameSummary per job on its standard output. The coordinator
+ * merges the summaries into one.
+ *
+ * <p>A worker that dies, breaks the protocol or does not answer a job within the job timeout is
+ * killed and replaced by a new process, and the job it was running is queued again. Every job
+ * derives its random seeds from the run seed and its job number, so a re-run job produces exactly
+ * the results the lost one would have.</p>
+ */
+public class DistributedCoordinator {
+
+    private static final int MAX_ATTEMPTS = 3; // Times a job is tried before the sweep fails
+    private static final int TOP_N = 10;       // Top scores kept per player in the summaries
+    private static final long DEFAULT_JOB_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Path phraseFile;
+    private final List<String> strategies;  // Strategy names from StrategyRegistry
+    private final int workers;              // Number of worker processes
+    private final int shardSize;            // Phrases per job
+    private final int trials;               // Games per phrase per strategy
+    private final long seed;                // Seed of the whole sweep
+    private final long jobTimeoutMillis;    // Time a worker may take to answer one job before it is killed
+    private final AtomicInteger restarts = new AtomicInteger(); // Workers replaced after a failure
+
+    /**
+     * Constructs a DistributedCoordinator giving each job ten minutes.
+     *
+     * @param phraseFile The phrase file, read by the coordinator and by every worker.
+     * @param strategies The names of the strategies to run, as registered in StrategyRegistry.
+     * @param workers    The number of worker processes.
+     * @param shardSize  The number of phrases per job.
+     * @param trials     The number of games per phrase and strategy.
+     * @param seed       The seed of the sweep.
+     */
+    public DistributedCoordinator(Path phraseFile, List<String> strategies, int workers, int shardSize, int trials, long seed) {
+        this(phraseFile, strategies, workers, shardSize, trials, seed, DEFAULT_JOB_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Constructs a DistributedCoordinator.
+     *
+     * @param phraseFile       The phrase file, read by the coordinator and by every worker.
+     * @param strategies       The names of the strategies to run, as registered in StrategyRegistry.
+     * @param workers          The number of worker processes.
+     * @param shardSize        The number of phrases per job.
+     * @param trials           The number of games per phrase and strategy.
+     * @param seed             The seed of the sweep.
+     * @param jobTimeoutMillis The time a worker may take to answer one job, in milliseconds, before it is
+     *                         killed and the job is run again.
+     */
+    public DistributedCoordinator(Path phraseFile, List<String> strategies, int workers, int shardSize, int trials, long seed,
+                                  long jobTimeoutMillis) {
+        if (strategies.isEmpty() || workers <= 0 || shardSize <= 0 || trials <= 0 || jobTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Need at least one strategy, worker, phrase per shard and trial, and a positive job timeout");
+        }
+        this.phraseFile = phraseFile.toAbsolutePath();
+        this.strategies = new ArrayList<>(strategies);
+        this.workers = workers;
+        this.shardSize = shardSize;
+        this.trials = trials;
+        this.seed = seed;
+        this.jobTimeoutMillis = jobTimeoutMillis;
+    }
+
+    /**
+     * Runs the sweep on the worker processes and merges their results.
+     *
+     * @return The summary of every game played.
+     * @throws IOException If the phrase file cannot be read, or a job failed on every attempt.
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the workers.
+     */
+    public GameSummary run() throws IOException, InterruptedException {
+        int phraseCount = Phrases.read(phraseFile).size();
+        ConcurrentLinkedQueue<Job> jobs = new ConcurrentLinkedQueue<>();
+        int jobNumber = 0;
+        for (int from = 0; from < phraseCount; from += shardSize) {
+            for (String strategy : strategies) {
+                jobs.add(new Job(jobNumber++, from, Math.min(phraseCount, from + shardSize), strategy));
+            }
+        }
+
+        GameSummary total = new GameSummary(TOP_N);
+        CountDownLatch remaining = new CountDownLatch(jobNumber);
+        List<IOException> failures = new ArrayList<>();
+        List<Thread> drivers = new ArrayList<>();
+        ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "wof-worker-watchdog");
+            thread.setDaemon(true); // Never keeps the JVM alive
+            return thread;
+        });
+        for (int w = 0; w < Math.min(workers, Math.max(1, jobNumber)); w++) {
+            Thread driver = new Thread(() -> {
+                try {
+                    drive(jobs, total, remaining, watchdog);
+                } catch (IOException e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                    jobs.clear(); // The sweep has failed, stop handing out jobs
+                    while (remaining.getCount() > 0) {
+                        remaining.countDown(); // Release the coordinator, the sweep has failed
+                    }
+                }
+            }, "wof-worker-driver-" + w);
+            driver.start();
+            drivers.add(driver);
+        }
+
+        try {
+            remaining.await();
+            for (Thread driver : drivers) {
+                driver.join();
+            }
+        } finally {
+            watchdog.shutdownNow();
+        }
+        synchronized (failures) {
+            if (!failures.isEmpty()) {
+                throw failures.get(0);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Feeds jobs to one worker process at a time until the queue is empty, replacing the process
+     * whenever it fails or overruns the job timeout.
+     */
+    private void drive(ConcurrentLinkedQueue<Job> jobs, GameSummary total, CountDownLatch remaining,
+                       ScheduledExecutorService watchdog) throws IOException {
+        Worker worker = null;
+        try {
+            Job job;
+            while ((job = jobs.poll()) != null) {
+                try {
+                    if (worker == null) {
+                        worker = new Worker(startWorker());
+                    }
+                    GameSummary partial = worker.run(job, trials, PlayerState.seedFor(seed, job.number), watchdog, jobTimeoutMillis);
+                    synchronized (total) {
+                        total.merge(partial);
+                    }
+                    remaining.countDown();
+                } catch (IOException e) {
+                    if (worker != null) {
+                        worker.process.destroyForcibly();
+                        worker = null;
+                        restarts.incrementAndGet();
+                    }
+                    if (++job.attempts >= MAX_ATTEMPTS) {
+                        throw new IOException("Job " + job + " failed " + MAX_ATTEMPTS + " times", e);
+                    }
+                    jobs.add(job); // Run it again, on this or another worker
+                }
+            }
+        } finally {
+            if (worker != null) {
+                worker.stop();
+            }
+        }
+    }
+
+    private Process startWorker() throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>(Arrays.asList(java, "-cp", System.getProperty("java.class.path"),
+                DistributedCoordinator.class.getName(), "--worker", phraseFile.toString()));
+        return new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    /**
+     * Returns the number of worker processes that were replaced after failing.
+     *
+     * @return The number of restarts.
+     */
+    public int getRestarts() {
+        return restarts.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DistributedCoordinator{" +
+                "phraseFile=" + phraseFile +
+                ", strategies=" + strategies +
+                ", workers=" + workers +
+                ", shardSize=" + shardSize +
+                ", trials=" + trials +
+                ", seed=" + seed +
+                ", jobTimeoutMillis=" + jobTimeoutMillis +
+                '}';
+    }
+
+    /**
+     * Runs the worker side of the protocol: reads jobs from standard input until it is closed and
+     * answers each with a GameSummary on standard output.
+     */
+    private static void runWorker(Path phraseFile) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16));
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true)); // Keep stray output off the protocol
+
+        List<String> phrases = Phrases.read(phraseFile);
+        WheelOfFortuneAIGame game = new WheelOfFortuneAIGame(new ArrayList<>(), phrases);
+        game.setQuiet(true);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+        while (true) {
+            int from;
+            try {
+                from = in.readInt();
+            } catch (EOFException e) {
+                return; // The coordinator is done with this worker
+            }
+            int to = in.readInt();
+            String strategy = in.readUTF();
+            int trials = in.readInt();
+            long jobSeed = in.readLong();
+
+            WheelOfFortunePlayer player = StrategyRegistry.create(strategy, strategy);
+            GameSummary summary = new GameSummary(TOP_N);
+            for (int p = from; p < to; p++) {
+                for (int t = 0; t < trials; t++) {
+                    if (player instanceof StrategyPlayer) {
+                        ((StrategyPlayer) player).getState().reset(PlayerState.seedFor(jobSeed, (long) (p - from) * trials + t));
+                    }
+                    summary.add(game.play(phrases.get(p), player));
+                }
+            }
+            summary.writeTo(out);
+            out.flush();
+        }
+    }
+
+    /**
+     * Runs a distributed sweep, or a worker when started with --worker.
+     * Usage: java DistributedCoordinator phrases.txt [workers] [shardSize] [trials] [strategies] [seed] [jobTimeoutSeconds]
+     *
+     * @param args The command-line arguments.
+     * @throws Exception If the sweep fails.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("--worker")) {
+            runWorker(Paths.get(args[1]));
+            return;
+        }
+        if (args.length < 1) {
+            System.err.println("Usage: java DistributedCoordinator phrases.txt [workers] [shardSize] [trials] [strategies] [seed] [jobTimeoutSeconds]");
+            System.exit(2);
+        }
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int shardSize = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int trials = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        List<String> strategies = args.length > 4 ? Arrays.asList(args[4].split(",")) : StrategyRegistry.deterministicNames();
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 0;
+        long jobTimeoutMillis = args.length > 6 ? TimeUnit.SECONDS.toMillis(Long.parseLong(args[6])) : DEFAULT_JOB_TIMEOUT_MILLIS;
+
+        DistributedCoordinator coordinator = new DistributedCoordinator(Paths.get(args[0]), strategies, workers, shardSize, trials, seed,
+                jobTimeoutMillis);
+        long start = System.nanoTime();
+        GameSummary summary = coordinator.run();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(summary.size() + " games on " + workers + " workers in " + millis + " ms"
+                + (coordinator.getRestarts() > 0 ? " (" + coordinator.getRestarts() + " workers restarted)" : ""));
+        System.out.println("Average Score: " + summary.average());
+        for (String playerId : summary.playerIds()) {
+            System.out.println("  " + playerId + ": " + summary.playerAverage(playerId));
+        }
+        System.out.println("Top Scores:");
+        summary.highGameList(5).forEach(System.out::println);
+    }
+
+    /**
+     * A shard of phrases to be played by one strategy.
+     */
+    private static final class Job {
+        private final int number;    // Position of the job in the sweep, which determines its seed
+        private final int from;      // First phrase, inclusive
+        private final int to;        // Last phrase, exclusive
+        private final String strategy;
+        private int attempts;        // Failed attempts so far, only touched by the driver holding the job
+
+        Job(int number, int from, int to, String strategy) {
+            this.number = number;
+            this.from = from;
+            this.to = to;
+            this.strategy = strategy;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + number + " [" + from + ", " + to + ") " + strategy;
+        }
+    }
+
+    /**
+     * A running worker process and the streams of its protocol.
+     */
+    private static final class Worker {
+        private final Process process;
+        private final DataOutputStream toWorker;
+        private final DataInputStream fromWorker;
+
+        Worker(Process process) {
+            this.process = process;
+            this.toWorker = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            this.fromWorker = new DataInputStream(new BufferedInputStream(process.getInputStream(), 1 << 16));
+        }
+
+        GameSummary run(Job job, int trials, long jobSeed, ScheduledExecutorService watchdog, long timeoutMillis) throws IOException {
+            AtomicBoolean expired = new AtomicBoolean();
+            ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+                expired.set(true);
+                process.destroyForcibly(); // A hung worker never answers; killing it ends the blocked read
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                toWorker.writeInt(job.from);
+                toWorker.writeInt(job.to);
+                toWorker.writeUTF(job.strategy);
+                toWorker.writeInt(trials);
+                toWorker.writeLong(jobSeed);
+                toWorker.flush();
+                return GameSummary.readFrom(fromWorker); // Throws EOFException if the worker died
+            } catch (IOException e) {
+                if (expired.get()) {
+                    throw new IOException("Worker did not answer job " + job + " within " + timeoutMillis + " ms", e);
+                }
+                throw e;
+            } finally {
+                deadline.cancel(false);
+            }
+        }
+
+        void stop() {
+            try {
+                toWorker.close(); // End of input tells the worker to exit
+                process.waitFor();
+            } catch (IOException e) {
+                process.destroyForcibly();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
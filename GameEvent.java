@@ -0,0 +1,143 @@
+import java.util.Objects;
+
+/**
+ * The GameEvent class represents a single event produced by the game engine while it plays,
+ * either one guess made by a player or the end of a game. Events are delivered to downstream
+ * consumers in batches through a GameEventPublisher.
+ */
+public final class GameEvent {
+
+    /**
+     * The kinds of events the game engine produces.
+     */
+    public enum Type {
+        GUESS,      // A player guessed a letter
+        GAME_ENDED  // A game finished and its record was produced
+    }
+
+    private final Type type;          // Kind of event
+    private final String playerId;    // Player the event belongs to
+    private final String phrase;      // Phrase being played
+    private final char letter;        // Guessed letter, or 0 for GAME_ENDED events
+    private final boolean hit;        // Whether the guess revealed at least one letter
+    private final int score;          // Score so far (GUESS) or final score (GAME_ENDED)
+    private final int misses;         // Misses so far (GUESS) or in total (GAME_ENDED)
+    private final long timestamp;     // Wall clock time in milliseconds when the event happened
+
+    private GameEvent(Type type, String playerId, String phrase, char letter, boolean hit,
+                      int score, int misses, long timestamp) {
+        this.type = type;
+        this.playerId = playerId;
+        this.phrase = phrase;
+        this.letter = letter;
+        this.hit = hit;
+        this.score = score;
+        this.misses = misses;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Creates an event describing a single guess.
+     *
+     * @param playerId The player who guessed.
+     * @param phrase   The phrase being played.
+     * @param letter   The guessed letter.
+     * @param hit      Whether the guess revealed at least one letter.
+     * @param score    The player's score after the guess.
+     * @param misses   The number of misses after the guess.
+     * @return The guess event.
+     */
+    public static GameEvent guess(String playerId, String phrase, char letter, boolean hit, int score, int misses) {
+        return new GameEvent(Type.GUESS, playerId, phrase, letter, hit, score, misses, System.currentTimeMillis());
+    }
+
+    /**
+     * Creates an event describing a finished game.
+     *
+     * @param playerId The player who played the game.
+     * @param phrase   The phrase that was played.
+     * @param score    The final score of the game.
+     * @param misses   The number of misses in the game.
+     * @return The game ended event.
+     */
+    public static GameEvent gameEnded(String playerId, String phrase, int score, int misses) {
+        return new GameEvent(Type.GAME_ENDED, playerId, phrase, (char) 0, false, score, misses, System.currentTimeMillis());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public String getPhrase() {
+        return phrase;
+    }
+
+    public char getLetter() {
+        return letter;
+    }
+
+    public boolean isHit() {
+        return hit;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Compares this GameEvent to another object for equality based on all of its fields.
+     *
+     * @param o The object to compare with.
+     * @return true if this instance is equal to the specified object, otherwise false.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GameEvent that = (GameEvent) o;
+        return letter == that.letter && hit == that.hit && score == that.score && misses == that.misses
+                && timestamp == that.timestamp && type == that.type && Objects.equals(playerId, that.playerId)
+                && Objects.equals(phrase, that.phrase);
+    }
+
+    /**
+     * Returns a hash code for this GameEvent instance.
+     *
+     * @return The hash code for this instance.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, playerId, phrase, letter, hit, score, misses, timestamp);
+    }
+
+    /**
+     * Provides a string representation of the GameEvent.
+     *
+     * @return String representation of the event.
+     */
+    @Override
+    public String toString() {
+        return "GameEvent{" +
+                "type=" + type +
+                ", playerId='" + playerId + '\'' +
+                ", phrase='" + phrase + '\'' +
+                ", letter=" + letter +
+                ", hit=" + hit +
+                ", score=" + score +
+                ", misses=" + misses +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
@@ -0,0 +1,326 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The GameEventPublisher class streams GameEvents produced by the game engine to any number of
+ * Flow subscribers, such as analytics, live leaderboards or replay archivers. Events are grouped
+ * into batches before delivery and each subscriber has its own bounded buffer of batches. When a
+ * subscriber falls behind and its buffer is full, the configured BackpressurePolicy decides what
+ * happens, so a slow subscriber never stalls the simulation threads unless BLOCK is chosen.
+ */
+public class GameEventPublisher implements Flow.Publisher<List<GameEvent>>, AutoCloseable {
+
+    /**
+     * What a producer does when a subscriber's buffer is full.
+     */
+    public enum BackpressurePolicy {
+        BLOCK,        // Wait until the subscriber has consumed a batch
+        DROP_OLDEST,  // Discard the oldest buffered batch to make room
+        SAMPLE        // Replace the newest buffered batch, so the subscriber keeps seeing the latest events
+    }
+
+    private final Executor executor;          // Runs delivery to the subscribers
+    private final int batchSize;              // Number of events delivered per onNext call
+    private final int bufferCapacity;         // Number of batches buffered per subscriber
+    private final BackpressurePolicy policy;  // What to do when a subscriber's buffer is full
+    private final List<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong dropped = new AtomicLong();  // Events discarded by backpressure
+    private List<GameEvent> batch;            // Batch being filled, guarded by this
+    private boolean closed;                   // Guarded by this
+
+    /**
+     * Constructs a GameEventPublisher delivering on the common ForkJoinPool.
+     *
+     * @param batchSize      The number of events per delivered batch.
+     * @param bufferCapacity The number of batches buffered per subscriber.
+     * @param policy         The backpressure policy applied when a buffer is full.
+     */
+    public GameEventPublisher(int batchSize, int bufferCapacity, BackpressurePolicy policy) {
+        this(ForkJoinPool.commonPool(), batchSize, bufferCapacity, policy);
+    }
+
+    /**
+     * Constructs a GameEventPublisher delivering on the given executor.
+     *
+     * @param executor       The executor used to deliver batches to subscribers.
+     * @param batchSize      The number of events per delivered batch.
+     * @param bufferCapacity The number of batches buffered per subscriber.
+     * @param policy         The backpressure policy applied when a buffer is full.
+     */
+    public GameEventPublisher(Executor executor, int batchSize, int bufferCapacity, BackpressurePolicy policy) {
+        if (batchSize <= 0 || bufferCapacity <= 0) {
+            throw new IllegalArgumentException("Batch size and buffer capacity must be positive");
+        }
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.bufferCapacity = bufferCapacity;
+        this.policy = policy;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Returns whether anyone is subscribed. Producers can check this before building events.
+     *
+     * @return true if at least one subscriber is attached, otherwise false.
+     */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Adds an event to the current batch, delivering the batch once it is full.
+     *
+     * @param event The event to publish.
+     */
+    public void publish(GameEvent event) {
+        List<GameEvent> full = null;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Publisher is closed");
+            }
+            batch.add(event);
+            if (batch.size() >= batchSize) {
+                full = batch;
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (full != null) {
+            deliver(full);
+        }
+    }
+
+    /**
+     * Delivers the partially filled batch, if any, without waiting for it to fill up.
+     */
+    public void flush() {
+        List<GameEvent> partial;
+        synchronized (this) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            partial = batch;
+            batch = new ArrayList<>(batchSize);
+        }
+        deliver(partial);
+    }
+
+    /**
+     * Returns the total number of events dropped across all subscribers because of backpressure.
+     *
+     * @return The number of dropped events.
+     */
+    public long droppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * Subscribes a new subscriber. It receives batches published after this call.
+     *
+     * @param subscriber The subscriber to add.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<GameEvent>> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        EventSubscription subscription = new EventSubscription(subscriber);
+        boolean alreadyClosed;
+        synchronized (this) {
+            alreadyClosed = closed;
+            if (!alreadyClosed) {
+                subscriptions.add(subscription);
+            }
+        }
+        if (alreadyClosed) {
+            subscription.complete();
+        }
+        subscription.signal();
+    }
+
+    /**
+     * Flushes any pending events and completes all subscribers.
+     */
+    @Override
+    public void close() {
+        List<GameEvent> partial;
+        synchronized (this) {
+            closed = true; // Before taking the last batch, so no event can be accepted and then lost
+            partial = batch;
+            batch = new ArrayList<>(batchSize);
+        }
+        if (!partial.isEmpty()) {
+            deliver(partial);
+        }
+        for (EventSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+        subscriptions.clear();
+    }
+
+    private void deliver(List<GameEvent> events) {
+        List<GameEvent> readOnly = Collections.unmodifiableList(events);
+        for (EventSubscription subscription : subscriptions) {
+            subscription.offer(readOnly);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GameEventPublisher{" +
+                "batchSize=" + batchSize +
+                ", bufferCapacity=" + bufferCapacity +
+                ", policy=" + policy +
+                ", subscribers=" + subscriptions.size() +
+                '}';
+    }
+
+    /**
+     * A single subscriber's buffer and demand. Delivery runs on the executor and never more than
+     * once at a time per subscriber, as required by the Flow specification.
+     */
+    private final class EventSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super List<GameEvent>> subscriber;
+        private final ArrayDeque<List<GameEvent>> buffer = new ArrayDeque<>(); // Guarded by lock
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notFull = lock.newCondition();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();  // Serializes the drain loop
+        private volatile boolean cancelled;
+        private boolean completed;                               // Guarded by lock
+        private boolean subscribed;                              // Only touched by the drain loop
+        private volatile Throwable pendingError;
+
+        EventSubscription(Flow.Subscriber<? super List<GameEvent>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void offer(List<GameEvent> events) {
+            lock.lock();
+            try {
+                while (buffer.size() >= bufferCapacity && !cancelled) {
+                    if (policy == BackpressurePolicy.BLOCK) {
+                        notFull.awaitUninterruptibly();
+                    } else if (policy == BackpressurePolicy.DROP_OLDEST) {
+                        dropped.addAndGet(buffer.pollFirst().size());
+                    } else {
+                        dropped.addAndGet(buffer.pollLast().size());
+                    }
+                }
+                if (cancelled) {
+                    return;
+                }
+                buffer.addLast(events);
+            } finally {
+                lock.unlock();
+            }
+            signal();
+        }
+
+        void complete() {
+            lock.lock();
+            try {
+                completed = true;
+            } finally {
+                lock.unlock();
+            }
+            signal();
+        }
+
+        void signal() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                pendingError = new IllegalArgumentException("Demand must be positive: " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            lock.lock();
+            try {
+                buffer.clear();
+                notFull.signalAll(); // Release any producer blocked on this subscriber
+            } finally {
+                lock.unlock();
+            }
+            subscriptions.remove(this);
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (!subscribed) {
+                    subscribed = true;
+                    subscriber.onSubscribe(this);
+                }
+                drain();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            while (!cancelled) {
+                Throwable error = pendingError;
+                if (error != null) {
+                    cancel();
+                    subscriber.onError(error);
+                    return;
+                }
+
+                List<GameEvent> next = null;
+                boolean finished = false;
+                lock.lock();
+                try {
+                    if (buffer.isEmpty()) {
+                        finished = completed;
+                    } else if (demand.get() > 0) {
+                        next = buffer.pollFirst();
+                        notFull.signal();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                if (next == null) {
+                    if (finished) {
+                        cancelled = true; // Terminal state, nothing else is delivered
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+                try {
+                    subscriber.onNext(next);
+                } catch (Throwable t) {
+                    cancel();
+                    subscriber.onError(t);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The GameJfrEvents class groups the custom Java Flight Recorder events emitted by the games.
+ * All events are disabled by default so they cost nothing unless a recording turns them on,
+ * for example with a .jfc file containing:
+ *
+ * <pre>
+ *   &lt;event name="wof.GuessMade"&gt;
+ *     &lt;setting name="enabled"&gt;true&lt;/setting&gt;
+ *     &lt;setting name="threshold"&gt;1 ms&lt;/setting&gt;
+ *   &lt;/event&gt;
+ * </pre>
+ *
+ * The durational events (GuessMade and GameEnded) honour the threshold setting, so only turns
+ * or games slower than the threshold are recorded.
+ */
+public final class GameJfrEvents {
+
+    private GameJfrEvents() {
+        // Holder for the event classes only
+    }
+
+    /**
+     * Emitted when a game round starts.
+     */
+    @Name("wof.GameStarted")
+    @Label("Game Started")
+    @Category({"Wheel of Fortune", "Game"})
+    @Description("A game round has started")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class GameStarted extends Event {
+        @Label("Game")
+        public String game;
+
+        @Label("Player")
+        public String playerId;
+
+        @Label("Phrase Length")
+        public int phraseLength;
+    }
+
+    /**
+     * Emitted for every guess. The event spans the whole turn, so its duration is the guess
+     * latency (player decision plus board update).
+     */
+    @Name("wof.GuessMade")
+    @Label("Guess Made")
+    @Category({"Wheel of Fortune", "Game"})
+    @Description("A single guess and whether it hit; the duration is the turn latency")
+    @Enabled(false)
+    @Threshold("0 ms")
+    @StackTrace(false)
+    public static final class GuessMade extends Event {
+        @Label("Player")
+        public String playerId;
+
+        @Label("Guess")
+        @Description("Guessed letter for Wheel of Fortune, color code for MasterMind")
+        public String guess;
+
+        @Label("Hit")
+        public boolean hit;
+    }
+
+    /**
+     * Emitted when a game round ends. The event spans the whole game.
+     */
+    @Name("wof.GameEnded")
+    @Label("Game Ended")
+    @Category({"Wheel of Fortune", "Game"})
+    @Description("A game round has ended; the duration is the game length")
+    @Enabled(false)
+    @Threshold("0 ms")
+    @StackTrace(false)
+    public static final class GameEnded extends Event {
+        @Label("Player")
+        public String playerId;
+
+        @Label("Score")
+        public int score;
+
+        @Label("Misses")
+        public int misses;
+    }
+
+    /**
+     * Emitted when a game record is added to an AllGamesRecord.
+     */
+    @Name("wof.RecordAdded")
+    @Label("Record Added")
+    @Category({"Wheel of Fortune", "Records"})
+    @Description("A game record was added to the record of all games")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class RecordAdded extends Event {
+        @Label("Player")
+        public String playerId;
+
+        @Label("Score")
+        public int score;
+
+        @Label("Total Records")
+        public int totalRecords;
+    }
+}
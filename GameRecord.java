@@ -1,16 +1,20 @@
 import java.util.Objects;
 
 /**
- * The GameRecord class represents a record of a game, containing the player's ID and their score.
- * It supports comparison based on the score to facilitate sorting of game records.
+ * The GameRecord class represents a record of a game, containing the player's ID and their score,
+ * and when the game started and ended. It supports comparison based on the score to facilitate
+ * sorting of game records.
  */
 public class GameRecord implements Comparable<GameRecord> {
 
-    private String playerId; // Unique identifier for the player
-    private int score;       // Score of the player for this game record
+    private String playerId;        // Unique identifier for the player
+    private int score;              // Score of the player for this game record
+    private final long startMillis; // When the game started, in milliseconds since the epoch
+    private final long endMillis;   // When the game ended, in milliseconds since the epoch
 
     /**
-     * Constructs a GameRecord with the specified score and player ID.
+     * Constructs a GameRecord with the specified score and player ID, for a game ending now. The
+     * start time is taken to be the same as the end time.
      *
      * @param score    The score of the player in this game.
      * @param playerId The unique identifier of the player.
@@ -18,6 +22,24 @@ public class GameRecord implements Comparable<GameRecord> {
     public GameRecord(int score, String playerId){
         this.score = score;
         this.playerId = playerId;
+        this.endMillis = System.currentTimeMillis();
+        this.startMillis = endMillis;
+    }
+
+    /**
+     * Constructs a GameRecord with the specified score, player ID and timestamps. An end before the
+     * start, as when the wall clock is stepped back during a game, is taken to be the start.
+     *
+     * @param score       The score of the player in this game.
+     * @param playerId    The unique identifier of the player.
+     * @param startMillis When the game started, in milliseconds since the epoch.
+     * @param endMillis   When the game ended, in milliseconds since the epoch.
+     */
+    public GameRecord(int score, String playerId, long startMillis, long endMillis) {
+        this.score = score;
+        this.playerId = playerId;
+        this.startMillis = startMillis;
+        this.endMillis = Math.max(startMillis, endMillis); // Never fails a finished game over a clock step
     }
 
     /**
@@ -39,9 +61,37 @@ public class GameRecord implements Comparable<GameRecord> {
         return score;
     }
 
+    /**
+     * Returns when the game started.
+     *
+     * @return The start time, in milliseconds since the epoch.
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * Returns when the game ended.
+     *
+     * @return The end time, in milliseconds since the epoch.
+     */
+    public long getEndMillis() {
+        return endMillis;
+    }
+
+    /**
+     * Returns how long the game lasted.
+     *
+     * @return The duration in milliseconds.
+     */
+    public long getDurationMillis() {
+        return endMillis - startMillis;
+    }
+
     /**
      * Compares this GameRecord instance to another object for equality based on
-     * the player ID and score.
+     * the player ID and score. The timestamps only say when the game was played, so games with the
+     * same outcome are equal whenever they were played.
      *
      * @param o The object to compare with.
      * @return true if this instance is equal to the specified object, otherwise false.
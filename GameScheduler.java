@@ -0,0 +1,472 @@
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * The GameScheduler runs the work of a JVM that hosts both human sessions and AI simulations on one
+ * pool of worker threads, with two priority classes. Interactive work (the moves of
+ * WheelOfFortuneUserGame sessions) always runs before batch work (tournaments and other bulk games).
+ *
+ * <ul>
+ *     <li>Both classes have bounded queues. An interactive move is rejected when its queue is full,
+ *     since a human would rather see an error than an unbounded wait; a batch submission blocks until
+ *     there is room, which pushes back on the producer.</li>
+ *     <li>A batch job is a number of games, run in time slices. Between two games a worker checks
+ *     whether its slice is over or an interactive move is waiting, and if so puts the job back at the
+ *     end of the batch queue. A waiting move therefore never sits behind more than one game.</li>
+ *     <li>With more than one worker, batch jobs run on at most all but one of them, so a worker is
+ *     always free for the next interactive move.</li>
+ * </ul>
+ *
+ * <p>The time each task spends queued is recorded per class, so the interactive tail latency can be
+ * watched while batch load varies.</p>
+ */
+public class GameScheduler implements AutoCloseable {
+
+    /**
+     * The priority classes of work.
+     */
+    public enum Priority {
+        INTERACTIVE, BATCH
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition(); // Signalled when a task is queued
+    private final Condition batchRoom = lock.newCondition();     // Signalled when a batch job finishes
+    private final ArrayDeque<Task> interactive = new ArrayDeque<>();
+    private final ArrayDeque<BatchJob> batch = new ArrayDeque<>();
+    private final AtomicInteger interactiveWaiting = new AtomicInteger(); // Read by batch slices without the lock
+    private final int interactiveCapacity; // Queued interactive moves allowed
+    private final int batchCapacity;       // Unfinished batch jobs allowed, queued or running
+    private final int maxBatchWorkers;     // Workers that may run batch slices at once
+    private final long sliceNanos;         // Longest a batch job runs before it goes back in the queue
+    private final WaitStats interactiveWait = new WaitStats();
+    private final WaitStats batchWait = new WaitStats();
+    private final List<Thread> workers = new ArrayList<>();
+    private int batchPending;              // Unfinished batch jobs
+    private int batchRunning;              // Workers running a batch slice
+    private boolean closed;
+
+    /**
+     * Constructs a GameScheduler and starts its workers.
+     *
+     * @param workers             The number of worker threads.
+     * @param interactiveCapacity The number of interactive moves that may wait in the queue.
+     * @param batchCapacity       The number of unfinished batch jobs allowed at once.
+     * @param sliceMillis         The time slice of a batch job, in milliseconds.
+     */
+    public GameScheduler(int workers, int interactiveCapacity, int batchCapacity, long sliceMillis) {
+        if (workers <= 0 || interactiveCapacity <= 0 || batchCapacity <= 0 || sliceMillis <= 0) {
+            throw new IllegalArgumentException("Workers, capacities and slice must be positive");
+        }
+        this.interactiveCapacity = interactiveCapacity;
+        this.batchCapacity = batchCapacity;
+        this.maxBatchWorkers = Math.max(1, workers - 1);
+        this.sliceNanos = TimeUnit.MILLISECONDS.toNanos(sliceMillis);
+        for (int w = 0; w < workers; w++) {
+            Thread worker = new Thread(this::work, "wof-scheduler-" + w);
+            worker.setDaemon(true);
+            worker.start();
+            this.workers.add(worker);
+        }
+    }
+
+    /**
+     * Queues an interactive move, which runs before any batch work.
+     *
+     * @param move The move.
+     * @param <T>  The type of the move's result.
+     * @return A future completed with the move's result.
+     * @throws RejectedExecutionException If the interactive queue is full or the scheduler is closed.
+     */
+    public <T> CompletableFuture<T> submitInteractive(Callable<T> move) {
+        Move<T> task = new Move<>(move);
+        lock.lock();
+        try {
+            if (closed || interactive.size() >= interactiveCapacity) {
+                throw new RejectedExecutionException(closed ? "The scheduler is closed" : "Interactive queue is full");
+            }
+            task.queuedAt = System.nanoTime();
+            interactive.add(task);
+            interactiveWaiting.incrementAndGet();
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        return task.future;
+    }
+
+    /**
+     * Queues a batch job of games, blocking while the batch queue is full. The games are run in
+     * order, in time slices, whenever no interactive move is waiting. If a game throws, the rest of
+     * the job is skipped.
+     *
+     * @param games The number of games.
+     * @param game  Plays the game with the given index, from 0 to games - 1.
+     * @return A future completed when every game has run.
+     * @throws InterruptedException If the calling thread is interrupted while waiting for room.
+     * @throws RejectedExecutionException If the scheduler is closed.
+     */
+    public CompletableFuture<Void> submitBatch(int games, IntConsumer game) throws InterruptedException {
+        BatchJob job = new BatchJob(games, game);
+        lock.lockInterruptibly();
+        try {
+            while (!closed && batchPending >= batchCapacity) {
+                batchRoom.await();
+            }
+            if (closed) {
+                throw new RejectedExecutionException("The scheduler is closed");
+            }
+            batchPending++;
+            job.queuedAt = System.nanoTime();
+            batch.add(job);
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        return job.future;
+    }
+
+    private void work() {
+        while (true) {
+            Task task;
+            lock.lock();
+            try {
+                while ((task = nextTask()) == null) {
+                    if (closed) {
+                        return;
+                    }
+                    workAvailable.awaitUninterruptibly();
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            long start = System.nanoTime();
+            if (task instanceof Move) {
+                interactiveWait.record(start - task.queuedAt);
+                ((Move<?>) task).run();
+            } else {
+                batchWait.record(start - task.queuedAt);
+                BatchJob job = (BatchJob) task;
+                boolean done = job.runSlice(start + sliceNanos);
+                lock.lock();
+                try {
+                    batchRunning--;
+                    if (done) {
+                        batchPending--;
+                        batchRoom.signal();
+                    } else {
+                        job.queuedAt = System.nanoTime();
+                        batch.add(job); // Round-robin with the other batch jobs
+                    }
+                    workAvailable.signal(); // A batch worker slot is free again
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    // Called with the lock held
+    private Task nextTask() {
+        Task move = interactive.poll();
+        if (move != null) {
+            interactiveWaiting.decrementAndGet();
+            return move;
+        }
+        if (batchRunning < maxBatchWorkers && !batch.isEmpty()) {
+            batchRunning++;
+            return batch.poll();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the queue-wait statistics of a priority class. For batch jobs every slice counts as one wait.
+     *
+     * @param priority The priority class.
+     * @return The statistics, updated live.
+     */
+    public WaitStats getWaitStats(Priority priority) {
+        return priority == Priority.INTERACTIVE ? interactiveWait : batchWait;
+    }
+
+    /**
+     * Stops accepting work. The workers finish what is queued, then exit.
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            closed = true;
+            workAvailable.signalAll();
+            batchRoom.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the workers to finish what is queued after shutdown.
+     *
+     * @throws InterruptedException If interrupted while waiting for the workers.
+     */
+    public void awaitTermination() throws InterruptedException {
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    /**
+     * Stops accepting work and waits for the workers to finish what is queued. If the calling thread
+     * is interrupted, it stops waiting and returns with its interrupt flag set.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            awaitTermination();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GameScheduler{" +
+                "workers=" + workers.size() +
+                ", interactiveWait=" + interactiveWait +
+                ", batchWait=" + batchWait +
+                '}';
+    }
+
+    /**
+     * Queued work, stamped with the time it entered the queue.
+     */
+    private abstract static class Task {
+        long queuedAt; // System.nanoTime when last queued
+    }
+
+    /**
+     * An interactive move.
+     */
+    private static final class Move<T> extends Task {
+        private final Callable<T> move;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Move(Callable<T> move) {
+            this.move = move;
+        }
+
+        void run() {
+            try {
+                future.complete(move.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * A batch job, which remembers how far it got between slices.
+     */
+    private final class BatchJob extends Task {
+        private final int games;
+        private final IntConsumer game;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private int next; // Next game to play, only touched by the worker running the slice
+
+        BatchJob(int games, IntConsumer game) {
+            this.games = games;
+            this.game = game;
+        }
+
+        // Runs games until the job is done, the slice is over or a move is waiting; returns true when done
+        boolean runSlice(long deadline) {
+            try {
+                do {
+                    if (next < games) {
+                        game.accept(next++);
+                    }
+                } while (next < games && interactiveWaiting.get() == 0 && System.nanoTime() < deadline);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+                return true;
+            }
+            if (next < games) {
+                return false;
+            }
+            future.complete(null);
+            return true;
+        }
+    }
+
+    /**
+     * Queue-wait times of one priority class, in log-linear buckets of microseconds with eight
+     * buckets per power of two, so percentiles are accurate to within 12.5%.
+     */
+    public static final class WaitStats {
+        private static final int SUB_BUCKETS = 8;
+        private final AtomicLongArray buckets = new AtomicLongArray(SUB_BUCKETS * 62);
+        private final AtomicLongArray totals = new AtomicLongArray(3); // count, sum of micros, max micros
+
+        void record(long nanos) {
+            long micros = Math.max(0, nanos / 1000);
+            buckets.incrementAndGet(bucket(micros));
+            totals.incrementAndGet(0);
+            totals.addAndGet(1, micros);
+            totals.accumulateAndGet(2, micros, Math::max);
+        }
+
+        private static int bucket(long micros) {
+            if (micros < SUB_BUCKETS) {
+                return (int) micros;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(micros); // At least 3
+            int sub = (int) (micros >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+            return SUB_BUCKETS + (exponent - 3) * SUB_BUCKETS + sub;
+        }
+
+        // Largest value falling in the bucket
+        private static long upperBound(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + 3;
+            int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+        }
+
+        /**
+         * Returns the number of waits recorded.
+         *
+         * @return The count.
+         */
+        public long count() {
+            return totals.get(0);
+        }
+
+        /**
+         * Returns the mean wait.
+         *
+         * @return The mean wait in microseconds, or 0 if nothing was recorded.
+         */
+        public long meanMicros() {
+            long count = count();
+            return count == 0 ? 0 : totals.get(1) / count;
+        }
+
+        /**
+         * Returns the longest wait.
+         *
+         * @return The longest wait in microseconds.
+         */
+        public long maxMicros() {
+            return totals.get(2);
+        }
+
+        /**
+         * Returns a percentile of the waits, as the upper bound of the bucket it falls in.
+         *
+         * @param percentile The percentile, from 0 to 100.
+         * @return The wait in microseconds, or 0 if nothing was recorded.
+         */
+        public long percentileMicros(double percentile) {
+            long count = count();
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int b = 0; b < buckets.length(); b++) {
+                seen += buckets.get(b);
+                if (seen >= rank) {
+                    return Math.min(upperBound(b), maxMicros());
+                }
+            }
+            return maxMicros();
+        }
+
+        @Override
+        public String toString() {
+            return "WaitStats{" +
+                    "count=" + count() +
+                    ", meanMicros=" + meanMicros() +
+                    ", p50=" + percentileMicros(50) +
+                    ", p99=" + percentileMicros(99) +
+                    ", max=" + maxMicros() +
+                    '}';
+        }
+    }
+
+    /**
+     * Measures interactive move latency with and without a full batch load.
+     * Usage: java GameScheduler phrases.txt [workers] [sessions] [batchGames]
+     *
+     * @param args The command-line arguments.
+     * @throws Exception If the run fails.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: java GameScheduler phrases.txt [workers] [sessions] [batchGames]");
+            System.exit(2);
+        }
+        List<String> phrases = Phrases.read(Paths.get(args[0]));
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int sessions = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int batchGames = args.length > 3 ? Integer.parseInt(args[3]) : 2_000_000;
+
+        try (GameScheduler idle = new GameScheduler(workers, 1024, 64, 5)) {
+            runSessions(idle, phrases, sessions);
+            System.out.println("Idle:       interactive " + idle.getWaitStats(Priority.INTERACTIVE));
+        }
+
+        try (GameScheduler loaded = new GameScheduler(workers, 1024, 64, 5)) {
+            Thread producer = new Thread(() -> {
+                try {
+                    for (int job = 0; job < batchGames / 1000; job++) {
+                        WheelOfFortuneAIGame game = new WheelOfFortuneAIGame(new ArrayList<>(), phrases);
+                        game.setQuiet(true);
+                        WheelOfFortunePlayer player = new AIPlayer("batch" + job);
+                        loaded.submitBatch(1000, g -> game.play(phrases.get(g % phrases.size()), player));
+                    }
+                } catch (InterruptedException | RejectedExecutionException e) {
+                    // The run is over
+                }
+            }, "wof-batch-producer");
+            producer.setDaemon(true);
+            producer.start();
+            Thread.sleep(200); // Let the batch queue fill up
+            runSessions(loaded, phrases, sessions);
+            System.out.println("Batch load: interactive " + loaded.getWaitStats(Priority.INTERACTIVE));
+            System.out.println("            batch       " + loaded.getWaitStats(Priority.BATCH));
+            producer.interrupt();
+        }
+    }
+
+    // Plays a few games per session, one move per millisecond across all sessions
+    private static void runSessions(GameScheduler scheduler, List<String> phrases, int sessions) throws Exception {
+        char[] letters = "etaoinshrdlucmfwypvbgkqjxz".toCharArray();
+        for (int s = 0; s < sessions; s++) {
+            WheelOfFortuneUserGame session = new WheelOfFortuneUserGame(phrases, new UserPlayer("human" + s));
+            for (int g = 0; g < 3; g++) {
+                session.startGame();
+                for (int i = 0; i < letters.length && !session.isGameOver(); i++) {
+                    char letter = letters[i];
+                    scheduler.submitInteractive(() -> session.guess(letter)).get();
+                    Thread.sleep(1); // Think time
+                }
+            }
+        }
+    }
+}
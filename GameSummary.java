@@ -0,0 +1,306 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The GameSummary class is a compact, mergeable stand-in for AllGamesRecord. Instead of every game
+ * record it keeps, for each player, the game count, the score sum, a score histogram and the player's
+ * top scores, which is enough to answer average, playerAverage and highGameList. Summaries of
+ * disjoint sets of games can be merged, and a summary can be written to and read from a data stream
+ * in a few hundred bytes per player, which makes it cheap to send between processes.
+ */
+public class GameSummary {
+
+    /**
+     * Number of histogram buckets. Scores from HISTOGRAM_BUCKETS - 1 up share the last bucket.
+     */
+    public static final int HISTOGRAM_BUCKETS = 32;
+
+    private final int topN;                                            // Top scores kept per player
+    private final Map<String, PlayerSummary> players = new TreeMap<>(); // Sorted, so merge order does not matter
+
+    /**
+     * Constructs an empty GameSummary.
+     *
+     * @param topN The number of top scores kept per player, which bounds highGameList.
+     */
+    public GameSummary(int topN) {
+        if (topN < 0) {
+            throw new IllegalArgumentException("topN must not be negative: " + topN);
+        }
+        this.topN = topN;
+    }
+
+    /**
+     * Adds a game to the summary.
+     *
+     * @param gameRecord The game to add.
+     */
+    public void add(GameRecord gameRecord) {
+        player(gameRecord.getPlayerId()).add(gameRecord.getScore());
+    }
+
+    /**
+     * Merges another summary of different games into this one.
+     *
+     * @param other The summary to merge.
+     */
+    public void merge(GameSummary other) {
+        for (Map.Entry<String, PlayerSummary> entry : other.players.entrySet()) {
+            player(entry.getKey()).merge(entry.getValue());
+        }
+    }
+
+    private PlayerSummary player(String playerId) {
+        return players.computeIfAbsent(playerId, id -> new PlayerSummary(topN));
+    }
+
+    /**
+     * Returns the number of games summarized.
+     *
+     * @return The number of games.
+     */
+    public long size() {
+        long count = 0;
+        for (PlayerSummary player : players.values()) {
+            count += player.count;
+        }
+        return count;
+    }
+
+    /**
+     * Calculates the average score across all games, like AllGamesRecord.average.
+     *
+     * @return The average score, or 0 if there are no games.
+     */
+    public int average() {
+        long sum = 0;
+        long count = 0;
+        for (PlayerSummary player : players.values()) {
+            sum += player.sum;
+            count += player.count;
+        }
+        return count == 0 ? 0 : (int) (sum / count);
+    }
+
+    /**
+     * Calculates the average score of a player, like AllGamesRecord.playerAverage.
+     *
+     * @param playerId The ID of the player.
+     * @return The player's average score, or 0 if the player has no games.
+     */
+    public int playerAverage(String playerId) {
+        PlayerSummary player = players.get(playerId);
+        return player == null || player.count == 0 ? 0 : (int) (player.sum / player.count);
+    }
+
+    /**
+     * Returns the number of games of a player.
+     *
+     * @param playerId The ID of the player.
+     * @return The player's number of games, 0 if the player has none.
+     */
+    public long playerGames(String playerId) {
+        PlayerSummary player = players.get(playerId);
+        return player == null ? 0 : player.count;
+    }
+
+    /**
+     * Returns the number of games of a player that fall in each score bucket.
+     *
+     * @param playerId The ID of the player.
+     * @return A copy of the player's histogram, all zero if the player has no games.
+     */
+    public long[] histogram(String playerId) {
+        PlayerSummary player = players.get(playerId);
+        return player == null ? new long[HISTOGRAM_BUCKETS] : player.histogram.clone();
+    }
+
+    /**
+     * Retrieves the top n games across all players, like AllGamesRecord.highGameList.
+     *
+     * @param n The number of games, at most the topN the summary was built with.
+     * @return Up to n of the highest-scoring games, in descending order of score.
+     */
+    public List<GameRecord> highGameList(int n) {
+        List<GameRecord> games = new ArrayList<>();
+        for (Map.Entry<String, PlayerSummary> entry : players.entrySet()) {
+            entry.getValue().addTopGames(entry.getKey(), Math.min(n, topN), games);
+        }
+        games.sort(Comparator.comparingInt(GameRecord::getScore).reversed());
+        return new ArrayList<>(games.subList(0, Math.min(n, games.size())));
+    }
+
+    /**
+     * Retrieves the top n games of a player, like AllGamesRecord.highGameList(playerId, n).
+     *
+     * @param playerId The ID of the player.
+     * @param n        The number of games, at most the topN the summary was built with.
+     * @return Up to n of the player's highest-scoring games, in descending order of score.
+     */
+    public List<GameRecord> highGameList(String playerId, int n) {
+        List<GameRecord> games = new ArrayList<>();
+        PlayerSummary player = players.get(playerId);
+        if (player != null) {
+            player.addTopGames(playerId, Math.min(n, topN), games);
+        }
+        return games;
+    }
+
+    /**
+     * Returns the IDs of the players in the summary.
+     *
+     * @return The player IDs, in alphabetical order.
+     */
+    public List<String> playerIds() {
+        return new ArrayList<>(players.keySet());
+    }
+
+    /**
+     * Writes the summary to a data stream.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If writing fails.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(topN);
+        out.writeInt(players.size());
+        for (Map.Entry<String, PlayerSummary> entry : players.entrySet()) {
+            PlayerSummary player = entry.getValue();
+            out.writeUTF(entry.getKey());
+            out.writeLong(player.count);
+            out.writeLong(player.sum);
+            for (long bucket : player.histogram) {
+                out.writeLong(bucket);
+            }
+            out.writeInt(player.topSize);
+            for (int i = 0; i < player.topSize; i++) {
+                out.writeInt(player.top[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a summary written by writeTo.
+     *
+     * @param in The stream to read from.
+     * @return The summary.
+     * @throws IOException If reading fails.
+     */
+    public static GameSummary readFrom(DataInputStream in) throws IOException {
+        GameSummary summary = new GameSummary(in.readInt());
+        int playerCount = in.readInt();
+        for (int p = 0; p < playerCount; p++) {
+            PlayerSummary player = summary.player(in.readUTF());
+            player.count = in.readLong();
+            player.sum = in.readLong();
+            for (int b = 0; b < HISTOGRAM_BUCKETS; b++) {
+                player.histogram[b] = in.readLong();
+            }
+            int topSize = in.readInt();
+            if (topSize > summary.topN) {
+                throw new IOException("Summary holds " + topSize + " top scores, more than its topN of " + summary.topN);
+            }
+            for (int i = 0; i < topSize; i++) {
+                player.top[i] = in.readInt();
+            }
+            player.topSize = topSize;
+        }
+        return summary;
+    }
+
+    @Override
+    public String toString() {
+        return "GameSummary{" +
+                "games=" + size() +
+                ", players=" + players.keySet() +
+                ", average=" + average() +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GameSummary that = (GameSummary) o;
+        return topN == that.topN && Objects.equals(players, that.players);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(topN, players);
+    }
+
+    /**
+     * The aggregated games of one player. The top scores are kept sorted in descending order.
+     */
+    private static final class PlayerSummary {
+        private final long[] histogram = new long[HISTOGRAM_BUCKETS];
+        private final int[] top;  // Highest scores, descending, first topSize entries used
+        private int topSize;
+        private long count;
+        private long sum;
+
+        PlayerSummary(int topN) {
+            this.top = new int[topN];
+        }
+
+        void add(int score) {
+            count++;
+            sum += score;
+            histogram[Math.max(0, Math.min(score, HISTOGRAM_BUCKETS - 1))]++;
+            offerTop(score);
+        }
+
+        void merge(PlayerSummary other) {
+            count += other.count;
+            sum += other.sum;
+            for (int b = 0; b < HISTOGRAM_BUCKETS; b++) {
+                histogram[b] += other.histogram[b];
+            }
+            for (int i = 0; i < other.topSize; i++) {
+                offerTop(other.top[i]);
+            }
+        }
+
+        // Inserts the score into the sorted top scores if it is high enough
+        private void offerTop(int score) {
+            if (top.length == 0 || (topSize == top.length && score <= top[topSize - 1])) {
+                return;
+            }
+            int i = topSize == top.length ? topSize - 1 : topSize++;
+            while (i > 0 && top[i - 1] < score) {
+                top[i] = top[i - 1];
+                i--;
+            }
+            top[i] = score;
+        }
+
+        void addTopGames(String playerId, int n, List<GameRecord> games) {
+            for (int i = 0; i < Math.min(n, topSize); i++) {
+                games.add(new GameRecord(top[i], playerId));
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PlayerSummary that = (PlayerSummary) o;
+            return count == that.count && sum == that.sum && Arrays.equals(histogram, that.histogram)
+                    && Arrays.equals(Arrays.copyOf(top, topSize), Arrays.copyOf(that.top, that.topSize));
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(count, sum, Arrays.hashCode(histogram), Arrays.hashCode(Arrays.copyOf(top, topSize)));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+/**
+ * A GuessStrategy decides which letter a player guesses next. Strategies are immutable and keep all
+ * per-game information in the PlayerState passed to them, so one instance is thread-safe and can be
+ * shared by any number of concurrent games without resets or locking.
+ */
+public interface GuessStrategy {
+
+    // Method to choose the next letter and record it as used in the state
+    char nextGuess(PlayerState state);
+
+    // Method to get the name identifying the strategy
+    String name();
+
+    // Method to get the letters the strategy always guesses first, in order, whatever happens on the board
+    default char[] deterministicPrefix() {
+        return new char[0];
+    }
+}
@@ -7,11 +7,17 @@ import java.util.Scanner;
  * to create different types of guessing games. It contains basic functionality
  * for handling attempts, generating a secret code, providing feedback, and controlling
  * the game's play flow.
+ *
+ * <p>Guesses and feedback travel through a primitive channel: each game encodes a guess
+ * as an int guess code (a single char for Wheel of Fortune, a packed color code for
+ * MasterMind) and scores it into an int feedback value, so the core game loop does not
+ * allocate per move. The List&lt;String&gt; methods remain as adapters onto that channel.</p>
  */
 public abstract class GuessingGame extends Game {
     protected int attempts;                       // Number of attempts allowed for the game
     protected List<String> secretCode;            // Secret code or phrase to be guessed
     protected String feedbackMessage;             // Feedback message for the player's guess
+    protected boolean quiet;                      // Suppresses per-move console output for batch runs
     protected static final Scanner scanner = new Scanner(System.in); // Shared Scanner instance
 
     /**
@@ -23,6 +29,16 @@ public abstract class GuessingGame extends Game {
         this.attempts = attempts;
     }
 
+    /**
+     * Turns per-move console output on or off. Batch simulations run quiet so that printing does
+     * not dominate the cost of a game.
+     *
+     * @param quiet true to suppress console output, false to print it.
+     */
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+
     /**
      * Provides a string representation of the GuessingGame instance, including
      * attempts, the secret code, and feedback message.
@@ -72,12 +88,58 @@ public abstract class GuessingGame extends Game {
     public abstract void generateSecretCode();
 
     /**
-     * Abstract method to provide feedback based on the player's guess.
+     * Provides feedback based on the player's guess. This adapts the list form of the guess onto
+     * the primitive channel: the guess is encoded, scored and the feedback described.
      *
      * @param guess The player's guess as a list of strings.
      * @return A feedback message specific to the game.
      */
-    public abstract String getFeedback(List<String> guess);
+    public String getFeedback(List<String> guess) {
+        return describeFeedback(scoreGuess(encodeGuess(guess)));
+    }
+
+    /**
+     * Abstract method to encode a guess given as a list of strings into the game's guess code.
+     *
+     * @param guess The player's guess as a list of strings.
+     * @return The guess code.
+     */
+    protected abstract int encodeGuess(List<String> guess);
+
+    /**
+     * Abstract method to apply a guess to the game and compute its feedback. This is the core of a
+     * move and must not allocate.
+     *
+     * @param guessCode The encoded guess.
+     * @return The feedback for the guess, encoded as an int specific to the game.
+     */
+    protected abstract int scoreGuess(int guessCode);
+
+    /**
+     * Abstract method to turn encoded feedback into a message for the player.
+     *
+     * @param feedback The feedback returned by scoreGuess.
+     * @return A feedback message specific to the game.
+     */
+    protected abstract String describeFeedback(int feedback);
+
+    /**
+     * Abstract method to check if an encoded guess is a winning guess.
+     *
+     * @param guessCode The encoded guess.
+     * @return true if the guess wins the game, otherwise false.
+     */
+    protected abstract boolean isWinningCode(int guessCode);
+
+    /**
+     * Gets the player's next guess as a guess code. The default adapts getGuess; games whose
+     * players produce primitive guesses override it to avoid building a list per move.
+     *
+     * @return The encoded guess.
+     */
+    protected int nextGuessCode() {
+        return encodeGuess(getGuess());
+    }
 
     /**
      * Plays multiple games in a row, recording each game's results, and continues
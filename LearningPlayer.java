@@ -0,0 +1,95 @@
+/**
+ * The LearningPlayer class represents an AI player whose letter priorities are learned instead of
+ * hardcoded. It consults a LetterFrequencyModel shared by every game in the JVM, guessing the unused
+ * letter that most often appears in phrases, most often hits, and most often sits next to the letters
+ * it has already found. Whenever one of its games ends, it trains the model on the phrase and on the
+ * outcome of its guesses.
+ */
+public class LearningPlayer extends StrategyPlayer {
+
+    /**
+     * The strategy shared by every LearningPlayer using the shared model.
+     */
+    public static final GuessStrategy STRATEGY = new LearningStrategy(LetterFrequencyModel.shared());
+
+    private final LetterFrequencyModel model; // Model trained by this player's games
+
+    /**
+     * Constructs a LearningPlayer using the model shared by the whole JVM.
+     *
+     * @param playerId A unique identifier for this AI player.
+     */
+    public LearningPlayer(String playerId) {
+        this(playerId, LetterFrequencyModel.shared());
+    }
+
+    /**
+     * Constructs a LearningPlayer using its own model, for example to train players in isolation.
+     *
+     * @param playerId A unique identifier for this AI player.
+     * @param model    The model to consult and train.
+     */
+    public LearningPlayer(String playerId, LetterFrequencyModel model) {
+        super(playerId, model == LetterFrequencyModel.shared() ? STRATEGY : new LearningStrategy(model));
+        this.model = model;
+    }
+
+    /**
+     * Trains the model on the finished phrase and on which of this game's guesses hit.
+     *
+     * @param phrase The phrase that was played.
+     */
+    @Override
+    public void gameFinished(String phrase) {
+        model.learnPhrase(phrase);
+        model.recordGuesses(getState().getUsedMask(), getState().getHitMask());
+    }
+
+    /**
+     * Guesses the unused letter with the highest score in the latest model snapshot. Until the model
+     * has learned from at least one phrase it guesses like AIPlayer.
+     */
+    private static final class LearningStrategy implements GuessStrategy {
+
+        private final LetterFrequencyModel model;
+
+        LearningStrategy(LetterFrequencyModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public char nextGuess(PlayerState state) {
+            LetterFrequencyModel.Snapshot snapshot = model.snapshot();
+            if (snapshot.phrases() == 0) {
+                return AIPlayer.STRATEGY.nextGuess(state);
+            }
+
+            int free = ~state.getUsedMask() & LetterMasks.ALPHABET;
+            int best = Integer.numberOfTrailingZeros(free);
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int mask = free; mask != 0; mask &= mask - 1) {
+                int letter = Integer.numberOfTrailingZeros(mask);
+                double score = snapshot.score(letter, state.getHitMask());
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = letter;
+                }
+            }
+            char letter = LetterMasks.letter(best);
+            state.markUsed(letter);
+            return letter;
+        }
+
+        @Override
+        public String name() {
+            return "learning";
+        }
+
+        @Override
+        public String toString() {
+            return "LearningStrategy{" +
+                    "model=" + model +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,223 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LetterFrequencyModel learns which letters are worth guessing from the games played in this JVM:
+ * how many finished phrases contain each letter, which letters appear next to each other (bigrams),
+ * and how often a guess of each letter hits. One shared instance is meant to be trained and consulted
+ * by every concurrent game.
+ *
+ * <p>Updates are lock-free: letter and guess counters are LongAdders, and bigram counters live in an
+ * AtomicLongArray striped by thread so that concurrent games rarely touch the same cache line. Reads
+ * go through an immutable Snapshot published through a volatile field, so they never wait. The
+ * snapshot is rebuilt after a number of updates by whichever reader notices first; everybody else
+ * keeps using the previous snapshot in the meantime.</p>
+ */
+public final class LetterFrequencyModel {
+
+    private static final int BIGRAMS = 26 * 26;
+    private static final LetterFrequencyModel SHARED = new LetterFrequencyModel(256);
+
+    private final LongAdder phrases = new LongAdder();
+    private final LongAdder[] letterCounts = newAdders(26); // Phrases containing each letter
+    private final LongAdder[] guesses = newAdders(26);      // Guesses of each letter
+    private final LongAdder[] hits = newAdders(26);         // Guesses of each letter that hit
+    private final int stripes;                              // Power of two number of bigram stripes
+    private final AtomicLongArray bigramCounts;             // stripes * BIGRAMS counters
+    private final LongAdder pendingUpdates = new LongAdder(); // Updates since the last snapshot
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final int refreshEvery;                         // Updates between snapshot rebuilds
+    private volatile Snapshot snapshot = new Snapshot(new double[26], new double[26], new float[BIGRAMS], 0);
+
+    /**
+     * Constructs an empty LetterFrequencyModel.
+     *
+     * @param refreshEvery The number of updates after which readers rebuild the snapshot.
+     */
+    public LetterFrequencyModel(int refreshEvery) {
+        this.refreshEvery = Math.max(1, refreshEvery);
+        this.stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.bigramCounts = new AtomicLongArray(stripes * BIGRAMS);
+    }
+
+    /**
+     * Returns the model shared by every game in the JVM.
+     *
+     * @return The shared model.
+     */
+    public static LetterFrequencyModel shared() {
+        return SHARED;
+    }
+
+    /**
+     * Learns the letters and bigrams of a finished phrase.
+     *
+     * @param phrase The phrase that was played.
+     */
+    public void learnPhrase(String phrase) {
+        int mask = LetterMasks.phraseMask(phrase) & LetterMasks.ALPHABET;
+        while (mask != 0) {
+            letterCounts[Integer.numberOfTrailingZeros(mask)].increment();
+            mask &= mask - 1;
+        }
+
+        int base = stripe() * BIGRAMS;
+        int previous = -1;
+        for (int i = 0; i < phrase.length(); i++) {
+            int bit = LetterMasks.bit(phrase.charAt(i));
+            int letter = bit == 0 ? -1 : Integer.numberOfTrailingZeros(bit);
+            if (previous >= 0 && letter >= 0) {
+                bigramCounts.incrementAndGet(base + previous * 26 + letter);
+            }
+            previous = letter;
+        }
+        phrases.increment();
+        pendingUpdates.increment();
+    }
+
+    /**
+     * Learns the outcome of a game's guesses.
+     *
+     * @param usedMask The letters guessed.
+     * @param hitMask  The guessed letters that were in the phrase.
+     */
+    public void recordGuesses(int usedMask, int hitMask) {
+        int used = usedMask & LetterMasks.ALPHABET;
+        while (used != 0) {
+            int letter = Integer.numberOfTrailingZeros(used);
+            guesses[letter].increment();
+            if ((hitMask & (1 << letter)) != 0) {
+                hits[letter].increment();
+            }
+            used &= used - 1;
+        }
+        pendingUpdates.increment();
+    }
+
+    /**
+     * Returns a consistent, immutable view of the model. The call never blocks: if the current
+     * snapshot is stale and another thread is already rebuilding it, the current one is returned.
+     *
+     * @return The latest snapshot.
+     */
+    public Snapshot snapshot() {
+        if (pendingUpdates.sum() >= refreshEvery && rebuilding.compareAndSet(false, true)) {
+            try {
+                pendingUpdates.reset();
+                snapshot = build();
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Publishes a snapshot of everything learned so far, regardless of the refresh interval.
+     *
+     * @return The new snapshot.
+     */
+    public Snapshot refresh() {
+        pendingUpdates.reset();
+        Snapshot fresh = build();
+        snapshot = fresh;
+        return fresh;
+    }
+
+    private Snapshot build() {
+        long phraseCount = phrases.sum();
+        double[] presence = new double[26];
+        double[] hitRate = new double[26];
+        for (int c = 0; c < 26; c++) {
+            // Laplace smoothing keeps unseen letters possible
+            presence[c] = (letterCounts[c].sum() + 1.0) / (phraseCount + 2.0);
+            hitRate[c] = (hits[c].sum() + 1.0) / (guesses[c].sum() + 2.0);
+        }
+
+        long[] counts = new long[BIGRAMS];
+        for (int s = 0; s < stripes; s++) {
+            for (int b = 0; b < BIGRAMS; b++) {
+                counts[b] += bigramCounts.get(s * BIGRAMS + b);
+            }
+        }
+        // Probability that a letter is next to the given letter, in either order
+        float[] adjacency = new float[BIGRAMS];
+        for (int a = 0; a < 26; a++) {
+            long total = 0;
+            for (int c = 0; c < 26; c++) {
+                total += counts[a * 26 + c] + counts[c * 26 + a];
+            }
+            for (int c = 0; total > 0 && c < 26; c++) {
+                adjacency[a * 26 + c] = (float) (counts[a * 26 + c] + counts[c * 26 + a]) / total;
+            }
+        }
+        return new Snapshot(presence, hitRate, adjacency, phraseCount);
+    }
+
+    private int stripe() {
+        return (int) Thread.currentThread().getId() & (stripes - 1);
+    }
+
+    private static LongAdder[] newAdders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    @Override
+    public String toString() {
+        return "LetterFrequencyModel{" +
+                "phrases=" + phrases.sum() +
+                ", stripes=" + stripes +
+                '}';
+    }
+
+    /**
+     * An immutable view of the model at one point in time.
+     */
+    public static final class Snapshot {
+        private final double[] presence;  // Probability that a phrase contains each letter
+        private final double[] hitRate;   // Probability that a guess of each letter hits
+        private final float[] adjacency;  // adjacency[a * 26 + c]: share of a's neighbours that are c
+        private final long phrases;       // Number of phrases learned
+
+        private Snapshot(double[] presence, double[] hitRate, float[] adjacency, long phrases) {
+            this.presence = presence;
+            this.hitRate = hitRate;
+            this.adjacency = adjacency;
+            this.phrases = phrases;
+        }
+
+        /**
+         * Returns the number of phrases the snapshot has learned from.
+         *
+         * @return The number of phrases.
+         */
+        public long phrases() {
+            return phrases;
+        }
+
+        /**
+         * Scores a letter for a game in which the given letters have hit so far. The score blends
+         * how often the letter appears in phrases, how often guessing it has paid off, and how often
+         * it appears next to the letters already found.
+         *
+         * @param letter  The letter index from 0 to 25.
+         * @param hitMask The letters that have hit so far in the game.
+         * @return The letter's score, higher is better.
+         */
+        public double score(int letter, int hitMask) {
+            double score = 0.6 * presence[letter] + 0.4 * hitRate[letter];
+            double neighbours = 0;
+            int found = hitMask & LetterMasks.ALPHABET;
+            while (found != 0) {
+                neighbours += adjacency[Integer.numberOfTrailingZeros(found) * 26 + letter];
+                found &= found - 1;
+            }
+            return score + 0.5 * neighbours;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * The LetterMasks class holds helpers for representing sets of letters as int bit masks, with bit 0
+ * for 'a' through bit 25 for 'z'. Masks make the letter bookkeeping of a game (letters in the phrase,
+ * letters guessed so far, whether the phrase is solved) a handful of integer operations.
+ */
+public final class LetterMasks {
+
+    /**
+     * Mask with all 26 letter bits set.
+     */
+    public static final int ALPHABET = (1 << 26) - 1;
+
+    /**
+     * Extra bit set in a phrase mask when the phrase contains a letter outside 'a' to 'z' (such as an
+     * accented letter). No guess can reveal such a letter, so a phrase with this bit is never solved.
+     */
+    public static final int UNGUESSABLE = 1 << 26;
+
+    private LetterMasks() {
+        // Static helpers only
+    }
+
+    /**
+     * Returns the bit for a letter, ignoring case.
+     *
+     * @param letter The letter.
+     * @return The letter's bit, or 0 if the character is not a letter from 'a' to 'z'.
+     */
+    public static int bit(char letter) {
+        int index = (letter | 0x20) - 'a'; // Fold ASCII upper case onto lower case
+        return index >= 0 && index < 26 ? 1 << index : 0;
+    }
+
+    /**
+     * Returns the set of letters appearing in a phrase, ignoring case.
+     *
+     * @param phrase The phrase.
+     * @return The phrase's letter mask, including the UNGUESSABLE bit if needed.
+     */
+    public static int phraseMask(CharSequence phrase) {
+        int mask = 0;
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = phrase.charAt(i);
+            int bit = bit(c);
+            if (bit != 0) {
+                mask |= bit;
+            } else if (Character.isLetter(c)) {
+                mask |= UNGUESSABLE;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Tells whether every letter of a phrase has been guessed.
+     *
+     * @param phraseMask The phrase's letter mask.
+     * @param usedMask   The mask of guessed letters.
+     * @return true if the phrase is fully revealed, otherwise false.
+     */
+    public static boolean isSolved(int phraseMask, int usedMask) {
+        return (phraseMask & ~usedMask) == 0;
+    }
+
+    /**
+     * Returns the letter for a bit index.
+     *
+     * @param index The bit index from 0 to 25.
+     * @return The lower case letter.
+     */
+    public static char letter(int index) {
+        return (char) ('a' + index);
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * A LetterMatcher reveals every occurrence of a guessed letter in a long phrase. The phrase is
+ * matched in its case-folded byte form, built once per phrase by fold, so a guess is a plain byte
+ * comparison instead of a Character.toLowerCase call per character.
+ *
+ * <p>preferred() returns a matcher built on the jdk.incubator.vector API when that module is present
+ * at run time (java --add-modules jdk.incubator.vector ...), and a scalar matcher otherwise.</p>
+ */
+public interface LetterMatcher {
+
+    // Method to reveal every position of the phrase whose folded byte equals the folded letter, copying the
+    // phrase's character into the hidden phrase, and return the number of positions that match
+    int reveal(byte[] folded, byte letter, String phrase, StringBuilder hiddenPhrase);
+
+    /**
+     * Folds an ASCII phrase to lower case bytes. Phrases with characters outside ASCII return null,
+     * since Character.toLowerCase can map some of those onto ASCII letters, and are left to the
+     * caller's character-by-character matching.
+     *
+     * @param phrase The phrase.
+     * @return The folded bytes, or null if the phrase is not pure ASCII.
+     */
+    static byte[] fold(String phrase) {
+        byte[] folded = new byte[phrase.length()];
+        for (int i = 0; i < folded.length; i++) {
+            char c = phrase.charAt(i);
+            if (c >= 0x80) {
+                return null;
+            }
+            folded[i] = (byte) (c >= 'A' && c <= 'Z' ? c | 0x20 : c);
+        }
+        return folded;
+    }
+
+    /**
+     * Returns the fastest matcher available in this JVM.
+     *
+     * @return The vector matcher if the jdk.incubator.vector module is loaded, otherwise the scalar one.
+     */
+    static LetterMatcher preferred() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded by name, so this class still links when the vector classes cannot be
+                return (LetterMatcher) Class.forName("VectorLetterMatcher").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to the scalar matcher
+            }
+        }
+        return new ScalarLetterMatcher();
+    }
+}
@@ -0,0 +1,298 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The LexiconIndex helps solve phrases that are not in the corpus by reasoning about each word of
+ * the board separately. Dictionary words are grouped in buckets by length, and each bucket keeps,
+ * for every (position, letter) pair, a bitset of the words having that letter at that position.
+ *
+ * <p>A board word such as "*A**A" is matched against its length bucket by intersecting the bitsets
+ * of its revealed letters and removing the words that contain a guessed letter at a hidden position,
+ * since a guessed letter is revealed wherever it appears. The remaining candidates give, for each
+ * unguessed letter, the probability that the word contains it, and the words of the board are
+ * combined, as if independent, into the probability that the phrase contains the letter.</p>
+ *
+ * <p>An index is immutable once built and can be shared by any number of threads.</p>
+ */
+public final class LexiconIndex {
+
+    private static final int MAX_WORD_LENGTH = 32; // Longer words are not indexed
+
+    private final Bucket[] buckets = new Bucket[MAX_WORD_LENGTH + 1]; // buckets[length], null if no word has that length
+    private final int wordCount;                                       // Distinct words indexed
+
+    private LexiconIndex(Collection<String> words) {
+        List<List<String>> byLength = new ArrayList<>();
+        for (int length = 0; length <= MAX_WORD_LENGTH; length++) {
+            byLength.add(new ArrayList<>());
+        }
+        int count = 0;
+        for (String word : words) {
+            if (word.length() <= MAX_WORD_LENGTH) {
+                byLength.get(word.length()).add(word);
+                count++;
+            }
+        }
+        for (int length = 1; length <= MAX_WORD_LENGTH; length++) {
+            if (!byLength.get(length).isEmpty()) {
+                buckets[length] = new Bucket(length, byLength.get(length));
+            }
+        }
+        this.wordCount = count;
+    }
+
+    /**
+     * Builds an index of the given words. Words are lower-cased, duplicates are dropped, and words
+     * containing anything but the letters a to z are skipped.
+     *
+     * @param words The dictionary words.
+     * @return The index.
+     */
+    public static LexiconIndex ofWords(Collection<String> words) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String word : words) {
+            String lower = word.toLowerCase();
+            if (!lower.isEmpty() && lower.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+                distinct.add(lower);
+            }
+        }
+        return new LexiconIndex(distinct);
+    }
+
+    /**
+     * Builds an index of the words of the given phrases. Phrases are split into words on anything
+     * that is not a letter, the same way the board is split when it is matched.
+     *
+     * @param phrases The phrases to take words from.
+     * @return The index.
+     */
+    public static LexiconIndex ofPhrases(Collection<String> phrases) {
+        List<String> words = new ArrayList<>();
+        for (String phrase : phrases) {
+            for (String word : phrase.split("[^A-Za-z]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return ofWords(words);
+    }
+
+    /**
+     * Returns the number of distinct words indexed.
+     *
+     * @return The number of words.
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Counts the dictionary words matching a board word.
+     *
+     * @param pattern  The board word, with '*' for hidden letters, for example "*a**a".
+     * @param usedMask The LetterMasks of every letter guessed so far, including misses.
+     * @return The number of matching words.
+     */
+    public int candidateCount(CharSequence pattern, int usedMask) {
+        Bucket bucket = bucket(pattern.length());
+        if (bucket == null) {
+            return 0;
+        }
+        int count = 0;
+        for (long words : bucket.candidates(pattern, 0, usedMask)) {
+            count += Long.bitCount(words);
+        }
+        return count;
+    }
+
+    /**
+     * Estimates, for every letter, the probability that the phrase on the board contains it at a
+     * hidden position. Guessed letters get 0, and so do all letters if no hidden word of the board
+     * matches a dictionary word.
+     *
+     * @param board    The phrase as shown on the board, with '*' for hidden letters.
+     * @param usedMask The LetterMasks of every letter guessed so far, including misses.
+     * @param out      Receives the probability of each letter, from index 0 for 'a' to 25 for 'z'.
+     * @return The number of hidden board words that matched at least one dictionary word.
+     */
+    public int letterProbabilities(CharSequence board, int usedMask, double[] out) {
+        Arrays.fill(out, 0, 26, 1.0); // Probability that no word contains the letter, until the end
+        int[] counts = new int[26];
+        int matched = 0;
+        int start = -1;
+        for (int i = 0; i <= board.length(); i++) {
+            char c = i < board.length() ? board.charAt(i) : ' ';
+            if (c == '*' || LetterMasks.bit(c) != 0) {
+                if (start < 0) {
+                    start = i;
+                }
+                continue;
+            }
+            if (start >= 0) {
+                int total = countLetters(board, start, i, usedMask, counts);
+                if (total > 0) {
+                    matched++;
+                    for (int letter = 0; letter < 26; letter++) {
+                        out[letter] *= 1.0 - (double) counts[letter] / total;
+                    }
+                }
+                start = -1;
+            }
+        }
+        for (int letter = 0; letter < 26; letter++) {
+            out[letter] = matched == 0 || (usedMask & (1 << letter)) != 0 ? 0 : 1.0 - out[letter];
+        }
+        return matched;
+    }
+
+    /**
+     * Picks the unguessed letter most likely to be in the phrase on the board.
+     *
+     * @param board    The phrase as shown on the board, with '*' for hidden letters.
+     * @param usedMask The LetterMasks of every letter guessed so far, including misses.
+     * @return The lower case letter, or 0 if the index knows none of the hidden words.
+     */
+    public char bestLetter(CharSequence board, int usedMask) {
+        double[] probabilities = new double[26];
+        if (letterProbabilities(board, usedMask, probabilities) == 0) {
+            return 0;
+        }
+        int best = -1;
+        for (int letter = 0; letter < 26; letter++) {
+            if ((usedMask & (1 << letter)) == 0 && (best < 0 || probabilities[letter] > probabilities[best])) {
+                best = letter;
+            }
+        }
+        return best < 0 || probabilities[best] == 0 ? 0 : LetterMasks.letter(best);
+    }
+
+    /**
+     * Counts, over the dictionary words matching board[from, to), how many contain each unguessed
+     * letter. Returns the number of matching words, which is 0 if the board word is fully revealed.
+     */
+    private int countLetters(CharSequence board, int from, int to, int usedMask, int[] counts) {
+        Arrays.fill(counts, 0);
+        Bucket bucket = bucket(to - from);
+        if (bucket == null || indexOf(board, '*', from, to) < 0) {
+            return 0;
+        }
+        long[] candidates = bucket.candidates(board, from, usedMask);
+        int total = 0;
+        for (long words : candidates) {
+            total += Long.bitCount(words);
+        }
+        int unused = ~usedMask & LetterMasks.ALPHABET;
+        if (total > candidates.length * 4) {
+            // Many candidates: intersect with each letter's bitset rather than visiting every word
+            for (int letters = unused; letters != 0; letters &= letters - 1) {
+                int letter = Integer.numberOfTrailingZeros(letters);
+                long[] containing = bucket.containing[letter];
+                int count = 0;
+                for (int i = 0; i < candidates.length; i++) {
+                    count += Long.bitCount(candidates[i] & containing[i]);
+                }
+                counts[letter] = count;
+            }
+        } else {
+            for (int i = 0; i < candidates.length; i++) {
+                for (long words = candidates[i]; words != 0; words &= words - 1) {
+                    int w = (i << 6) + Long.numberOfTrailingZeros(words);
+                    for (int letters = bucket.letterMasks[w] & unused; letters != 0; letters &= letters - 1) {
+                        counts[Integer.numberOfTrailingZeros(letters)]++;
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private Bucket bucket(int length) {
+        return length > 0 && length <= MAX_WORD_LENGTH ? buckets[length] : null;
+    }
+
+    private static int indexOf(CharSequence board, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (board.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "LexiconIndex{" +
+                "words=" + wordCount +
+                '}';
+    }
+
+    /**
+     * The words of one length, as bitsets over the word numbers.
+     */
+    private static final class Bucket {
+        private final int length;
+        private final int[] letterMasks;  // LetterMasks of each word
+        private final long[] all;         // Every word of the bucket
+        private final long[][] at;        // at[position * 26 + letter]: words with the letter at the position
+        private final long[][] containing; // containing[letter]: words with the letter anywhere
+
+        Bucket(int length, List<String> words) {
+            int longs = (words.size() + 63) >>> 6;
+            this.length = length;
+            this.letterMasks = new int[words.size()];
+            this.all = new long[longs];
+            this.at = new long[length * 26][longs];
+            this.containing = new long[26][longs];
+            for (int w = 0; w < words.size(); w++) {
+                String word = words.get(w);
+                long bit = 1L << w;
+                all[w >>> 6] |= bit;
+                letterMasks[w] = LetterMasks.phraseMask(word);
+                for (int p = 0; p < length; p++) {
+                    int letter = word.charAt(p) - 'a';
+                    at[p * 26 + letter][w >>> 6] |= bit;
+                    containing[letter][w >>> 6] |= bit;
+                }
+            }
+        }
+
+        // Returns the bitset of words matching the board word of this bucket's length starting at from
+        long[] candidates(CharSequence board, int from, int usedMask) {
+            long[] candidates = all.clone();
+            int revealed = 0;
+            for (int p = 0; p < length; p++) {
+                char c = board.charAt(from + p);
+                if (c != '*') {
+                    int bit = LetterMasks.bit(c);
+                    revealed |= bit;
+                    and(candidates, at[p * 26 + Integer.numberOfTrailingZeros(bit)], false);
+                }
+            }
+            // A guessed letter not shown in this word is nowhere in it
+            for (int letters = usedMask & ~revealed & LetterMasks.ALPHABET; letters != 0; letters &= letters - 1) {
+                and(candidates, containing[Integer.numberOfTrailingZeros(letters)], true);
+            }
+            // A letter shown in this word is shown at all of its positions
+            for (int p = 0; p < length; p++) {
+                if (board.charAt(from + p) == '*') {
+                    for (int letters = revealed; letters != 0; letters &= letters - 1) {
+                        and(candidates, at[p * 26 + Integer.numberOfTrailingZeros(letters)], true);
+                    }
+                }
+            }
+            return candidates;
+        }
+
+        private static void and(long[] candidates, long[] words, boolean negate) {
+            long flip = negate ? -1L : 0L;
+            for (int i = 0; i < candidates.length; i++) {
+                candidates[i] &= words[i] ^ flip;
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * The LexiconPlayer class represents an AI player that reads the board word by word. Before each
+ * guess it matches every partly hidden word against a LexiconIndex and guesses the unused letter most
+ * likely to be in one of them, which lets it solve phrases it has never seen as long as their words
+ * are known. Until the index knows one of the hidden words, it guesses like AIPlayer. Under a
+ * MoveDeadline, it offers the index's letter and lets the deadline's fallback cover the rest. With an
+ * OpeningBook generated from the index's corpus, book positions are looked up instead of searched.
+ */
+public class LexiconPlayer extends StrategyPlayer implements AnytimePlayer {
+
+    private final LexiconIndex index; // Shared, immutable word index
+    private final OpeningBook book;   // Optional precomputed early moves of the index, or null
+    private CharSequence board;       // Board observed before the current guess, or null
+
+    /**
+     * Constructs a LexiconPlayer.
+     *
+     * @param playerId A unique identifier for this AI player.
+     * @param index    The word index to match the board against.
+     */
+    public LexiconPlayer(String playerId, LexiconIndex index) {
+        this(playerId, index, new PlayerState());
+    }
+
+    /**
+     * Constructs a LexiconPlayer with the given state, for example a seeded one.
+     *
+     * @param playerId A unique identifier for this AI player.
+     * @param index    The word index to match the board against.
+     * @param state    The player's state.
+     */
+    public LexiconPlayer(String playerId, LexiconIndex index, PlayerState state) {
+        this(playerId, index, null, state);
+    }
+
+    /**
+     * Constructs a LexiconPlayer that takes its early moves from an opening book.
+     *
+     * @param playerId A unique identifier for this AI player.
+     * @param index    The word index to match the board against.
+     * @param book     The opening book generated from the index's corpus, or null.
+     * @param state    The player's state.
+     */
+    public LexiconPlayer(String playerId, LexiconIndex index, OpeningBook book, PlayerState state) {
+        super(playerId, AIPlayer.STRATEGY, state);
+        this.index = index;
+        this.book = book;
+    }
+
+    @Override
+    public void observeBoard(CharSequence board) {
+        this.board = board;
+    }
+
+    /**
+     * Guesses the unused letter the index finds most likely on the board, or asks the fallback
+     * strategy if the index knows none of the hidden words.
+     *
+     * @return The next guessed letter.
+     */
+    @Override
+    public char nextGuess() {
+        CharSequence observed = board;
+        board = null; // Only good for this guess
+        if (observed != null) {
+            char letter = bestLetter(observed, getState().getUsedMask());
+            if (letter != 0) {
+                getState().markUsed(letter);
+                return letter;
+            }
+        }
+        return super.nextGuess();
+    }
+
+    /**
+     * Offers the unused letter the index finds most likely on the board, if it knows any of the
+     * hidden words.
+     *
+     * @param board  The board, with '*' for hidden letters.
+     * @param budget The budget to offer the letter to.
+     */
+    @Override
+    public void think(CharSequence board, MoveBudget budget) {
+        char letter = bestLetter(board, getState().getUsedMask());
+        if (letter != 0) {
+            budget.offer(letter);
+        }
+    }
+
+    // The index's letter for the position, from the book when it is booked
+    private char bestLetter(CharSequence board, int usedMask) {
+        if (book != null) {
+            int move = book.lookup(board, usedMask);
+            if (move != OpeningBook.MISS) {
+                return (char) move;
+            }
+        }
+        return index.bestLetter(board, usedMask);
+    }
+
+    @Override
+    public void commitGuess(char letter) {
+        getState().markUsed(letter);
+        board = null;
+    }
+
+    @Override
+    public int usedMask() {
+        return getState().getUsedMask();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        board = null;
+    }
+
+    /**
+     * Returns no deterministic prefix, since the guesses depend on the board from the first one.
+     *
+     * @return An empty array.
+     */
+    @Override
+    public char[] deterministicPrefix() {
+        return new char[0];
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return false;
+    }
+
+    @Override
+    public String strategyFingerprint() {
+        return "lexicon";
+    }
+
+    /**
+     * Returns the word index this player matches the board against.
+     *
+     * @return The index.
+     */
+    public LexiconIndex getIndex() {
+        return index;
+    }
+}
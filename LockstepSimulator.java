@@ -0,0 +1,146 @@
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The LockstepSimulator plays a large batch of Wheel of Fortune games at once, advancing every
+ * unfinished game by one guess per step. Instead of a board, a set of guessed letters and a player
+ * object per game, each game is a slot in a few parallel primitive arrays: the letters of its phrase,
+ * the letters guessed, the misses, the score and the random state, all as LetterMasks bit masks or
+ * plain numbers. Each step asks the strategy for the next guess of every unfinished game in one batch
+ * call, then applies all the guesses in one pass, and compacts the list of unfinished games. Games
+ * are advanced in cache-sized tiles, and large batches spread their tiles over all cores.
+ *
+ * <p>The results are the same as those of WheelOfFortuneAIGame.play with a StrategyPlayer whose
+ * PlayerState is seeded with the game's seed: a game ends when the phrase is fully revealed or the
+ * misses reach the limit, and every correct guess scores one point.</p>
+ */
+public class LockstepSimulator {
+
+    private static final int TILE = 2048;         // Games advanced together, small enough for their state to stay in cache
+    private static final int PARALLEL_TILES = 4;  // Tiles from which they are spread over the common pool
+
+    private final int maxMisses; // Incorrect guesses allowed per game
+
+    /**
+     * Constructs a LockstepSimulator with the same number of allowed misses as WheelOfFortuneAIGame.
+     */
+    public LockstepSimulator() {
+        this(10);
+    }
+
+    /**
+     * Constructs a LockstepSimulator.
+     *
+     * @param maxMisses The number of incorrect guesses allowed per game.
+     */
+    public LockstepSimulator(int maxMisses) {
+        if (maxMisses <= 0) {
+            throw new IllegalArgumentException("maxMisses must be positive: " + maxMisses);
+        }
+        this.maxMisses = maxMisses;
+    }
+
+    /**
+     * Returns the batch form of a strategy.
+     *
+     * @param strategy The strategy.
+     * @return The strategy as a BatchGuessStrategy.
+     * @throws IllegalArgumentException If the strategy has no batch form.
+     */
+    public static BatchGuessStrategy batchOf(GuessStrategy strategy) {
+        if (strategy instanceof BatchGuessStrategy) {
+            return (BatchGuessStrategy) strategy;
+        }
+        throw new IllegalArgumentException("Strategy " + strategy.name() + " cannot play batches");
+    }
+
+    /**
+     * Plays one game per phrase and returns a record per game.
+     *
+     * @param phrases  The phrase of each game.
+     * @param strategy The strategy making every game's guesses.
+     * @param playerId The player ID put in the records.
+     * @param seeds    The random seed of each game, as for PlayerState.reset.
+     * @return The record of each game, indexed like the phrases.
+     */
+    public GameRecord[] play(List<String> phrases, BatchGuessStrategy strategy, String playerId, long[] seeds) {
+        int[] phraseMasks = new int[phrases.size()];
+        for (int g = 0; g < phraseMasks.length; g++) {
+            phraseMasks[g] = LetterMasks.phraseMask(phrases.get(g));
+        }
+        int[] scores = scores(phraseMasks, strategy, seeds);
+        GameRecord[] records = new GameRecord[scores.length];
+        for (int g = 0; g < scores.length; g++) {
+            records[g] = new GameRecord(scores[g], playerId);
+        }
+        return records;
+    }
+
+    /**
+     * Plays one game per phrase mask and returns the score of each game.
+     *
+     * @param phraseMasks The LetterMasks.phraseMask of each game's phrase.
+     * @param strategy    The strategy making every game's guesses.
+     * @param seeds       The random seed of each game, as for PlayerState.reset.
+     * @return The score of each game, indexed like the phrase masks.
+     */
+    public int[] scores(int[] phraseMasks, BatchGuessStrategy strategy, long[] seeds) {
+        int n = phraseMasks.length;
+        if (seeds.length != n) {
+            throw new IllegalArgumentException("Need one seed per game: " + seeds.length + " seeds for " + n + " games");
+        }
+        int[] usedMasks = new int[n];
+        int[] misses = new int[n];
+        int[] scores = new int[n];
+        long[] rngStates = seeds.clone();
+
+        // Games are played a cache-sized tile at a time, so a tile's arrays stay in cache across steps
+        int tiles = (n + TILE - 1) / TILE;
+        IntStream range = IntStream.range(0, tiles);
+        if (tiles >= PARALLEL_TILES) {
+            range = range.parallel(); // Tiles share no state
+        }
+        range.forEach(t -> playTile(t * TILE, Math.min(n, (t + 1) * TILE), phraseMasks, strategy,
+                usedMasks, misses, scores, rngStates));
+        return scores;
+    }
+
+    private void playTile(int from, int to, int[] phraseMasks, BatchGuessStrategy strategy,
+                          int[] usedMasks, int[] misses, int[] scores, long[] rngStates) {
+        int[] active = new int[to - from];  // Indexes of the unfinished games, compacted every step
+        int[] guesses = new int[to - from]; // Guess of each unfinished game, indexed like active
+        int count = 0;
+        for (int g = from; g < to; g++) {
+            if (!LetterMasks.isSolved(phraseMasks[g], 0)) {
+                active[count++] = g;
+            }
+        }
+
+        while (count > 0) {
+            strategy.nextGuesses(active, count, usedMasks, rngStates, guesses);
+            int stillActive = 0;
+            for (int k = 0; k < count; k++) {
+                // Branch-free update: hits and misses are close to random, so branches would mispredict
+                int g = active[k];
+                int used = usedMasks[g] | guesses[k];
+                usedMasks[g] = used;
+                int hit = ((phraseMasks[g] & guesses[k]) | -(phraseMasks[g] & guesses[k])) >>> 31;
+                scores[g] += hit;
+                int missCount = misses[g] + 1 - hit;
+                misses[g] = missCount;
+                int unrevealed = phraseMasks[g] & ~used; // 0 once the phrase is solved
+                int alive = ((unrevealed | -unrevealed) >>> 31) & ((missCount - maxMisses) >>> 31);
+                active[stillActive] = g;
+                stillActive += alive;
+            }
+            count = stillActive;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LockstepSimulator{" +
+                "maxMisses=" + maxMisses +
+                '}';
+    }
+}
@@ -11,7 +11,9 @@ import java.util.Random;
 public class MasterMind extends GuessingGame {
 
     private static final String[] COLORS = {"R", "G", "B", "Y"}; // Available colors for guessing
+    private static final int CODE_LENGTH = 4; // Number of colors in a code
     private List<String> secretCode;
+    private int secretCodeValue; // Secret code packed two bits per color
     private final int maxAttempts; // Store the maximum number of attempts
 
     /**
@@ -31,9 +33,10 @@ public class MasterMind extends GuessingGame {
     public void generateSecretCode() {
         Random random = new Random();
         secretCode = new ArrayList<>();
-        for (int i = 0; i < 4; i++) { // Generating a 4-color code
+        for (int i = 0; i < CODE_LENGTH; i++) { // Generating a 4-color code
             secretCode.add(COLORS[random.nextInt(COLORS.length)]);
         }
+        secretCodeValue = encodeGuess(secretCode);
     }
 
     /**
@@ -44,27 +47,75 @@ public class MasterMind extends GuessingGame {
      */
     @Override
     public GameRecord play() {
+        long startMillis = System.currentTimeMillis();
         generateSecretCode(); // Generate a new secret code at the start of each game
         this.attempts = maxAttempts; // Reset attempts to the maximum for a new game
+        GameJfrEvents.GameEnded ended = new GameJfrEvents.GameEnded();
+        ended.begin();
+        recordGameStarted();
 
         System.out.println("Starting MasterMind. Try to guess the color sequence!");
 
         while (!isGameOver()) {
-            List<String> guess = getGuess(); // Prompt player for a guess
+            GameJfrEvents.GuessMade guessEvent = new GameJfrEvents.GuessMade();
+            guessEvent.begin(); // The event spans the player's decision and the scoring
+            int guess = nextGuessCode(); // Prompt player for a guess
 
-            if (isWinningGuess(guess)) {
+            if (isWinningCode(guess)) {
+                recordGuess(guessEvent, guess, true);
                 System.out.println("Congratulations! You've guessed the code correctly.");
                 break;
             }
 
-            String feedback = getFeedback(guess);
-            System.out.println(feedback);
+            int feedback = scoreGuess(guess);
+            recordGuess(guessEvent, guess, (feedback >>> 8) > 0);
+            System.out.println(describeFeedback(feedback));
             System.out.println("Debug: Remaining attempts = " + attempts);
         }
 
         int score = attempts > 0 ? attempts : 0; // Score based on remaining attempts
         System.out.println("Game over! The correct code was: " + secretCode);
-        return new GameRecord(score, "Player");
+        recordGameEnded(ended, score);
+        return new GameRecord(score, "Player", startMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * Emits a GameStarted flight recorder event if the event is enabled. The phrase length of a
+     * MasterMind game is the length of its code.
+     */
+    private void recordGameStarted() {
+        GameJfrEvents.GameStarted started = new GameJfrEvents.GameStarted();
+        if (started.shouldCommit()) {
+            started.game = getClass().getSimpleName();
+            started.playerId = "Player";
+            started.phraseLength = CODE_LENGTH;
+            started.commit();
+        }
+    }
+
+    /**
+     * Completes the GuessMade flight recorder event begun at the start of a turn. A guess hits when
+     * at least one color is in its place.
+     */
+    private void recordGuess(GameJfrEvents.GuessMade guessEvent, int guessCode, boolean hit) {
+        if (guessEvent.shouldCommit()) {
+            guessEvent.playerId = "Player";
+            guessEvent.guess = codeToString(guessCode);
+            guessEvent.hit = hit;
+            guessEvent.commit();
+        }
+    }
+
+    /**
+     * Completes the GameEnded flight recorder event begun at the start of the game.
+     */
+    private void recordGameEnded(GameJfrEvents.GameEnded ended, int score) {
+        if (ended.shouldCommit()) {
+            ended.playerId = "Player";
+            ended.score = score;
+            ended.misses = maxAttempts - attempts;
+            ended.commit();
+        }
     }
 
     /**
@@ -81,11 +132,62 @@ public class MasterMind extends GuessingGame {
      * Checks if the given guess matches the secret code.
      *
      * @param guess The player's guess represented as a list of color strings.
-     * @return true if the guess matches the secret code, otherwise false.
+     * @return true if the guess matches the secret code, otherwise false, also for invalid guesses.
      */
     @Override
     public boolean isWinningGuess(List<String> guess) {
-        return guess.equals(secretCode);
+        return isValidGuess(guess) && isWinningCode(encodeGuess(guess)); // Any other guess cannot match, rather than an error
+    }
+
+    /**
+     * Gives feedback on a guess and uses up an attempt. A guess of the wrong length or with unknown
+     * colors cannot be packed into a guess code; it is compared color by color instead, so unknown
+     * colors and positions past the code simply match nothing.
+     *
+     * @param guess The player's guess as a list of color strings.
+     * @return A feedback message indicating the number of exact and partial matches.
+     */
+    @Override
+    public String getFeedback(List<String> guess) {
+        if (isValidGuess(guess)) {
+            return super.getFeedback(guess);
+        }
+        int exactMatches = 0;
+        int partialMatches = 0;
+        int[] unmatchedCode = new int[COLORS.length];  // Count of unmatched secret colors
+        int[] unmatchedGuess = new int[COLORS.length]; // Count of unmatched known guessed colors
+        for (int i = 0; i < Math.max(CODE_LENGTH, guess.size()); i++) {
+            int secretColor = i < CODE_LENGTH ? (secretCodeValue >>> (2 * i)) & 3 : -1;
+            int guessColor = i < guess.size() && isColor(guess.get(i)) ? colorIndex(guess.get(i)) : -1;
+            if (secretColor >= 0 && secretColor == guessColor) {
+                exactMatches++;
+                continue;
+            }
+            if (secretColor >= 0) {
+                unmatchedCode[secretColor]++;
+            }
+            if (guessColor >= 0) {
+                unmatchedGuess[guessColor]++;
+            }
+        }
+        for (int color = 0; color < COLORS.length; color++) {
+            partialMatches += Math.min(unmatchedCode[color], unmatchedGuess[color]);
+        }
+        attempts--;
+        return describeFeedback((exactMatches << 8) | partialMatches);
+    }
+
+    // Whether the guess has exactly CODE_LENGTH colors, each spelled as the secret code holds them
+    private static boolean isValidGuess(List<String> guess) {
+        if (guess.size() != CODE_LENGTH) {
+            return false;
+        }
+        for (String color : guess) {
+            if (!isColor(color)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -112,39 +214,106 @@ public class MasterMind extends GuessingGame {
     }
 
     /**
-     * Generates feedback for the player's guess by calculating the number of exact and partial matches.
+     * Encodes a guess into a packed code of two bits per color, the first color in the lowest bits.
      *
      * @param guess The player's guess as a list of color strings.
-     * @return A feedback message indicating the number of exact and partial matches.
+     * @return The packed guess code.
      */
     @Override
-    public String getFeedback(List<String> guess) {
+    protected int encodeGuess(List<String> guess) {
+        if (guess.size() != CODE_LENGTH) {
+            throw new IllegalArgumentException("A guess must have " + CODE_LENGTH + " colors: " + guess);
+        }
+        int code = 0;
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            code |= colorIndex(guess.get(i)) << (2 * i);
+        }
+        return code;
+    }
+
+    /**
+     * Scores a guess by calculating the number of exact and partial matches. Unmatched colors are
+     * counted in four-bit fields of an int, one field per color, so no lists are needed.
+     *
+     * @param guessCode The packed guess code.
+     * @return The feedback packed as exact matches in bits 8 and up and partial matches in the low byte.
+     */
+    @Override
+    protected int scoreGuess(int guessCode) {
         int exactMatches = 0;   // Correct color in correct position
         int partialMatches = 0; // Correct color in wrong position
-
-        List<String> unmatchedCode = new ArrayList<>(secretCode);
-        List<String> unmatchedGuess = new ArrayList<>();
+        int unmatchedCode = 0;  // Count of unmatched secret colors, four bits per color
+        int unmatchedGuess = 0; // Count of unmatched guessed colors, four bits per color
 
         // First pass: Find exact matches
-        for (int i = 0; i < guess.size(); i++) {
-            if (guess.get(i).equals(secretCode.get(i))) {
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            int secretColor = (secretCodeValue >>> (2 * i)) & 3;
+            int guessColor = (guessCode >>> (2 * i)) & 3;
+            if (secretColor == guessColor) {
                 exactMatches++;
-                unmatchedCode.set(i, null); // Mark as matched
             } else {
-                unmatchedGuess.add(guess.get(i)); // Add to unmatched guess colors
+                unmatchedCode += 1 << (4 * secretColor);
+                unmatchedGuess += 1 << (4 * guessColor);
             }
         }
 
-        // Second pass: Find partial matches
-        for (String color : unmatchedGuess) {
-            if (unmatchedCode.contains(color)) {
-                partialMatches++;
-                unmatchedCode.set(unmatchedCode.indexOf(color), null); // Mark color as matched
-            }
+        // Second pass: Each color matches partially as often as it is unmatched in both
+        for (int color = 0; color < COLORS.length; color++) {
+            partialMatches += Math.min((unmatchedCode >>> (4 * color)) & 15, (unmatchedGuess >>> (4 * color)) & 15);
         }
 
         attempts--; // Decrement attempts only after valid input and feedback calculation
-        return String.format("Feedback: %d exact, %d partial. Attempts left: %d", exactMatches, partialMatches, attempts);
+
+        return (exactMatches << 8) | partialMatches;
+    }
+
+    /**
+     * Describes the feedback of a guess as the number of exact and partial matches.
+     *
+     * @param feedback The packed feedback returned by scoreGuess.
+     * @return A feedback message indicating the number of exact and partial matches.
+     */
+    @Override
+    protected String describeFeedback(int feedback) {
+        return String.format("Feedback: %d exact, %d partial. Attempts left: %d", feedback >>> 8, feedback & 0xff, attempts);
+    }
+
+    /**
+     * Checks if the packed guess matches the secret code.
+     *
+     * @param guessCode The packed guess code.
+     * @return true if the guess matches the secret code, otherwise false.
+     */
+    @Override
+    protected boolean isWinningCode(int guessCode) {
+        return guessCode == secretCodeValue;
+    }
+
+    private static int colorIndex(String color) {
+        for (int i = 0; i < COLORS.length; i++) {
+            if (COLORS[i].equalsIgnoreCase(color)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown color: " + color);
+    }
+
+    // Whether the string is exactly one of the colors, as the secret code holds them
+    private static boolean isColor(String color) {
+        for (String known : COLORS) {
+            if (known.equals(color)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String codeToString(int code) {
+        StringBuilder colors = new StringBuilder(CODE_LENGTH);
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            colors.append(COLORS[(code >>> (2 * i)) & 3]);
+        }
+        return colors.toString();
     }
 
     /**
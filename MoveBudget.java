@@ -0,0 +1,82 @@
+/**
+ * The MoveBudget of one move of an AnytimePlayer: the deadline its search must meet and the best guess
+ * it has offered so far. The player's search thread offers guesses while the game's thread waits; once
+ * the game closes the budget, at the deadline or when the search returns, further offers are ignored.
+ */
+public final class MoveBudget {
+
+    private final long deadlineNanos;   // System.nanoTime by which the move is taken
+    private volatile char best;         // Latest guess offered, 0 if none
+    private volatile boolean closed;    // Whether the game has taken the move
+    private volatile int offers;        // Number of offers accepted, written only by the search thread
+
+    /**
+     * Constructs a MoveBudget expiring after the given time.
+     *
+     * @param budgetNanos The time the search may take, in nanoseconds.
+     */
+    public MoveBudget(long budgetNanos) {
+        this.deadlineNanos = System.nanoTime() + budgetNanos;
+    }
+
+    /**
+     * Offers a guess as the best one found so far, replacing any earlier offer.
+     *
+     * @param letter The guessed letter.
+     * @return true if the offer was accepted, false if the budget has expired and the search should stop.
+     */
+    public boolean offer(char letter) {
+        if (isExpired()) {
+            return false;
+        }
+        best = letter;
+        offers++;
+        return true;
+    }
+
+    /**
+     * Tells whether the budget has run out, so the search should stop.
+     *
+     * @return true once the deadline has passed or the move has been taken.
+     */
+    public boolean isExpired() {
+        return closed || System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Returns the time left before the deadline.
+     *
+     * @return The remaining time in nanoseconds, 0 once expired.
+     */
+    public long remainingNanos() {
+        return closed ? 0 : Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * Returns the number of offers accepted so far.
+     *
+     * @return The number of offers.
+     */
+    public int offers() {
+        return offers;
+    }
+
+    /**
+     * Takes the move: closes the budget to further offers and returns the best guess offered.
+     *
+     * @return The latest offered letter, or 0 if the search offered none.
+     */
+    char close() {
+        closed = true;
+        return best;
+    }
+
+    @Override
+    public String toString() {
+        return "MoveBudget{" +
+                "remainingNanos=" + remainingNanos() +
+                ", best=" + (best == 0 ? "none" : String.valueOf(best)) +
+                ", offers=" + offers +
+                '}';
+    }
+}
@@ -0,0 +1,264 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The MoveDeadline bounds the time an AnytimePlayer may take per move. For each move it runs the
+ * player's search on a worker thread under a fresh MoveBudget and waits at most the budget: the move
+ * is the player's last offer when the search returns or the deadline passes, whichever comes first.
+ * If the player offered nothing usable, because its search failed, was too slow to offer anything,
+ * or is still stuck in an earlier move, the move comes from a cheap fallback strategy instead. Either
+ * way the game gets its guess within the budget, plus the time of one fallback guess and of the
+ * thread handoffs.
+ *
+ * <p>A search that overruns its deadline is interrupted and its later offers are ignored. The worker
+ * stays with it until it returns: the next move waits for it within its own budget, and falls back if
+ * it is still running at the deadline.</p>
+ *
+ * <p>One MoveDeadline serves one game thread at a time.</p>
+ */
+public class MoveDeadline implements AutoCloseable {
+
+    private final long budgetNanos;          // Time each move may take
+    private final GuessStrategy fallback;    // Cheap strategy used when the player has no answer
+    private final PlayerState fallbackState; // Scratch state the fallback guesses on
+    private final ExecutorService worker;
+    private final AtomicBoolean thinking = new AtomicBoolean(); // Whether a search, possibly overrun, is still running
+    private volatile Thread searchThread;    // Thread running the current search, null between searches
+    private CountDownLatch pending;          // Released when the latest search returns
+    private long moves;
+    private long timeouts;                   // Moves taken at the deadline, with or without an offer
+    private long fallbacks;                  // Moves taken from the fallback strategy
+    private long failures;                   // Searches that threw
+    private long maxLatencyNanos;            // Longest time a move took
+
+    /**
+     * Constructs a MoveDeadline falling back to AIPlayer's strategy.
+     *
+     * @param budgetMillis The time each move may take, in milliseconds.
+     */
+    public MoveDeadline(long budgetMillis) {
+        this(TimeUnit.MILLISECONDS.toNanos(budgetMillis), AIPlayer.STRATEGY);
+    }
+
+    /**
+     * Constructs a MoveDeadline.
+     *
+     * @param budgetNanos The time each move may take, in nanoseconds.
+     * @param fallback    The strategy guessing when the player has no answer in time.
+     */
+    public MoveDeadline(long budgetNanos, GuessStrategy fallback) {
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Move budget must be positive: " + budgetNanos + " ns");
+        }
+        this.budgetNanos = budgetNanos;
+        this.fallback = fallback;
+        this.fallbackState = new PlayerState();
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "wof-move-search");
+            thread.setDaemon(true); // A stuck search never keeps the JVM alive
+            return thread;
+        });
+    }
+
+    /**
+     * Takes the player's next move within the budget and commits it to the player.
+     *
+     * @param player The player to move.
+     * @param board  The board as it stands, with '*' for hidden letters.
+     * @return The guessed letter.
+     */
+    public char move(AnytimePlayer player, CharSequence board) {
+        long start = System.nanoTime();
+        moves++;
+        int used = player.usedMask();
+        MoveBudget budget = new MoveBudget(budgetNanos);
+        char letter = 0;
+        if (awaitIdle(budget)) {
+            letter = search(player, board.toString(), budget); // The search gets its own copy of the board
+        }
+        if (letter == 0 || (used & LetterMasks.bit(letter)) != 0 || LetterMasks.bit(letter) == 0) {
+            letter = fallbackGuess(used);
+            fallbacks++;
+        }
+        player.commitGuess(letter);
+        maxLatencyNanos = Math.max(maxLatencyNanos, System.nanoTime() - start);
+        return letter;
+    }
+
+    // Waits, within the budget, for an overrun search to return, and claims the worker for a new one
+    private boolean awaitIdle(MoveBudget budget) {
+        CountDownLatch previous = pending;
+        if (previous != null && previous.getCount() > 0) {
+            try {
+                previous.await(budget.remainingNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return !budget.isExpired() && thinking.compareAndSet(false, true);
+    }
+
+    // Runs the search under the budget and returns its last offer, or 0 if it offered nothing
+    private char search(AnytimePlayer player, String board, MoveBudget budget) {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean failed = new AtomicBoolean();
+        try {
+            worker.execute(() -> {
+                searchThread = Thread.currentThread();
+                Thread.interrupted(); // Clear an interrupt meant for an earlier search
+                try {
+                    player.think(board, budget);
+                } catch (RuntimeException e) {
+                    failed.set(true);
+                } finally {
+                    searchThread = null;
+                    thinking.set(false);
+                    done.countDown();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            thinking.set(false); // Closed: no search ran
+            return 0;
+        }
+        pending = done;
+        try {
+            if (!done.await(budget.remainingNanos(), TimeUnit.NANOSECONDS)) {
+                timeouts++;
+                Thread thread = searchThread;
+                if (thread != null) {
+                    thread.interrupt(); // Ask a blocked search to stop; it keeps the worker until it does
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failed.get()) {
+            failures++;
+        }
+        return budget.close();
+    }
+
+    // The fallback strategy's guess on the player's used letters
+    private char fallbackGuess(int used) {
+        fallbackState.clear();
+        for (int letters = used & LetterMasks.ALPHABET; letters != 0; letters &= letters - 1) {
+            fallbackState.markUsed(LetterMasks.letter(Integer.numberOfTrailingZeros(letters)));
+        }
+        return fallback.nextGuess(fallbackState);
+    }
+
+    /**
+     * Returns the number of moves taken.
+     *
+     * @return The number of moves.
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Returns the number of moves taken from the fallback strategy.
+     *
+     * @return The number of fallback moves.
+     */
+    public long getFallbacks() {
+        return fallbacks;
+    }
+
+    /**
+     * Returns the number of moves whose search was still running at the deadline.
+     *
+     * @return The number of timed-out searches.
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Returns the longest time a move took, fallback included.
+     *
+     * @return The latency in nanoseconds.
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    /**
+     * Stops the worker, interrupting any search still running.
+     */
+    @Override
+    public void close() {
+        worker.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "MoveDeadline{" +
+                "budgetMillis=" + String.format("%.3f", budgetNanos / 1e6) +
+                ", fallback=" + fallback.name() +
+                ", moves=" + moves +
+                ", timeouts=" + timeouts +
+                ", fallbacks=" + fallbacks +
+                ", failures=" + failures +
+                ", maxLatencyMillis=" + String.format("%.3f", maxLatencyNanos / 1e6) +
+                '}';
+    }
+
+    /**
+     * Plays every phrase with a LexiconPlayer under a move deadline, then with one whose search stalls
+     * well past the deadline now and then, and prints the scores and move latencies of both.
+     * Usage: java MoveDeadline phrases.txt [budgetMillis]
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If the phrase file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java MoveDeadline phrases.txt [budgetMillis]");
+            System.exit(2);
+        }
+        List<String> phrases = Phrases.read(Paths.get(args[0]));
+        long budgetMillis = args.length > 1 ? Long.parseLong(args[1]) : 5;
+        LexiconIndex index = LexiconIndex.ofPhrases(phrases);
+
+        List<WheelOfFortunePlayer> players = new ArrayList<>();
+        players.add(new LexiconPlayer("lexicon", index));
+        players.add(new LexiconPlayer("stalling", index) {
+            private int searches;
+
+            @Override
+            public void think(CharSequence board, MoveBudget budget) {
+                if (++searches % 10 == 0) {
+                    try {
+                        Thread.sleep(budgetMillis * 20); // Far past the deadline, as a runaway search would be
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                super.think(board, budget);
+            }
+        });
+
+        for (WheelOfFortunePlayer player : players) {
+            try (MoveDeadline deadline = new MoveDeadline(budgetMillis)) {
+                WheelOfFortuneAIGame game = new WheelOfFortuneAIGame(new ArrayList<>(), phrases);
+                game.setQuiet(true);
+                game.setMoveDeadline(deadline);
+                long total = 0;
+                for (String phrase : phrases) {
+                    total += game.play(phrase, player).getScore();
+                }
+                System.out.printf("%-9s average %.3f  %s%n", player.playerId(), (double) total / phrases.size(), deadline);
+            }
+        }
+    }
+}
@@ -0,0 +1,368 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The OpeningBook holds the early moves of a LexiconPlayer, precomputed, so that book positions cost
+ * one hash lookup instead of a search of the LexiconIndex. A position is keyed by its board signature:
+ * the shape of the words, the letters revealed in them and the letters guessed so far. The index's
+ * choice depends on nothing else, so a book move is right for any phrase reaching the position, in
+ * the corpus or not.
+ *
+ * <p>The book is generated offline by playing the first moves of every phrase of the corpus, in
+ * parallel, and is saved as an open-addressing hash table that is memory-mapped when loaded, so
+ * startup costs no parsing and the table is shared through the page cache.</p>
+ *
+ * <p>File layout: int magic, int version, long corpus fingerprint, int depth, int entry count, int
+ * capacity (a power of two), then capacity longs. A slot holds the 59 high bits of the signature hash
+ * and, in its 5 low bits, the index of the booked letter plus one, or NO_LETTER if the index knows
+ * none of the hidden words there. Empty slots are 0.</p>
+ */
+public final class OpeningBook {
+
+    /**
+     * Returned by lookup for a position that is not in the book.
+     */
+    public static final int MISS = -1;
+
+    private static final int MAGIC = 0x574f424b; // "WOBK"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4 + 4;
+    private static final long MOVE_BITS = 0x1f;  // Low bits of a slot holding the move
+    private static final int NO_LETTER = 27;     // Move of positions where the index has no letter
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ByteBuffer table;  // Mapped slots, read with absolute gets only
+    private final long fingerprint;  // Corpus the book was generated from
+    private final int depth;         // Moves booked per game
+    private final int entries;
+    private final int mask;          // capacity - 1
+
+    private OpeningBook(ByteBuffer table, long fingerprint, int depth, int entries, int capacity) {
+        this.table = table;
+        this.fingerprint = fingerprint;
+        this.depth = depth;
+        this.entries = entries;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Generates the book of a corpus by playing the first moves of every phrase as a LexiconPlayer
+     * would, and writes it to a file.
+     *
+     * @param phrases The corpus the index was built from.
+     * @param index   The index the book's moves are taken from.
+     * @param depth   The number of moves booked per game.
+     * @param threads The number of simulation threads.
+     * @param file    The file to write.
+     * @return The number of positions booked.
+     * @throws IOException If the file cannot be written or the simulation fails.
+     */
+    public static int generate(List<String> phrases, LexiconIndex index, int depth, int threads, Path file) throws IOException {
+        if (depth <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Need a positive depth and thread count");
+        }
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(phrases));
+
+        // Several chunks per thread keep the threads busy when some phrases take longer than others
+        int chunkSize = Math.max(1, distinct.size() / (threads * 4));
+        List<Callable<long[]>> tasks = new ArrayList<>();
+        for (int start = 0; start < distinct.size(); start += chunkSize) {
+            List<String> chunk = distinct.subList(start, Math.min(distinct.size(), start + chunkSize));
+            tasks.add(() -> simulateChunk(chunk, index, depth));
+        }
+
+        long[] slots = new long[tableCapacity(distinct.size() * depth)];
+        int entries = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (Future<long[]> future : pool.invokeAll(tasks)) {
+                for (long slot : future.get()) {
+                    if (slot != 0 && insert(slots, slot)) {
+                        entries++;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating the opening book", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Opening book simulation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long[] compact = new long[tableCapacity(entries)]; // Most phrases share their first positions
+        for (long slot : slots) {
+            if (slot != 0) {
+                insert(compact, slot);
+            }
+        }
+        write(file, fingerprint(phrases, index), depth, entries, compact);
+        return entries;
+    }
+
+    // Plays the first depth moves of each phrase, returning one slot per position (0 where the game ended early)
+    private static long[] simulateChunk(List<String> chunk, LexiconIndex index, int depth) {
+        long[] slots = new long[chunk.size() * depth];
+        PlayerState fallback = new PlayerState(0);
+        int n = 0;
+        for (String phrase : chunk) {
+            StringBuilder board = new StringBuilder(phrase.length());
+            for (int i = 0; i < phrase.length(); i++) {
+                board.append(LetterMasks.bit(phrase.charAt(i)) != 0 ? '*' : phrase.charAt(i));
+            }
+            int phraseMask = LetterMasks.phraseMask(phrase);
+            fallback.clear();
+            int misses = 0;
+            for (int move = 0; move < depth && board.indexOf("*") >= 0 && misses < 10; move++) { // Ten misses end a game
+                int used = fallback.getUsedMask();
+                char letter = index.bestLetter(board, used);
+                slots[n++] = slot(signature(board, used), letter);
+                if (letter == 0) {
+                    letter = AIPlayer.STRATEGY.nextGuess(fallback); // What LexiconPlayer falls back to
+                } else {
+                    fallback.markUsed(letter);
+                }
+                if ((phraseMask & LetterMasks.bit(letter)) == 0) {
+                    misses++;
+                    continue;
+                }
+                for (int i = 0; i < phrase.length(); i++) {
+                    if ((LetterMasks.bit(phrase.charAt(i)) & LetterMasks.bit(letter)) != 0) {
+                        board.setCharAt(i, phrase.charAt(i));
+                    }
+                }
+            }
+        }
+        return slots;
+    }
+
+    private static long slot(long signature, char letter) {
+        long move = letter == 0 ? NO_LETTER : Integer.numberOfTrailingZeros(LetterMasks.bit(letter)) + 1;
+        long key = signature & ~MOVE_BITS;
+        return (key == 0 ? ~MOVE_BITS : key) | move; // Keeps occupied slots non-zero
+    }
+
+    // Adds a slot unless its position is already booked; returns whether it was added
+    private static boolean insert(long[] slots, long slot) {
+        int mask = slots.length - 1;
+        for (int i = (int) mix(slot >>> 5) & mask; ; i = (i + 1) & mask) {
+            if (slots[i] == 0) {
+                slots[i] = slot;
+                return true;
+            }
+            if ((slots[i] & ~MOVE_BITS) == (slot & ~MOVE_BITS)) {
+                return false; // The same position, reached by another phrase
+            }
+        }
+    }
+
+    // Capacity for a load factor of at most one half
+    private static int tableCapacity(int positions) {
+        int capacity = 16;
+        while (capacity < positions * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Computes the signature hash of a position: the words of the board, with '*' for hidden letters
+     * and revealed letters folded to lower case, and the letters guessed so far. Characters that are not
+     * letters only separate words, as they do for the LexiconIndex.
+     *
+     * @param board    The board, with '*' for hidden letters.
+     * @param usedMask The LetterMasks of the letters guessed so far.
+     * @return The 64-bit signature hash.
+     */
+    static long signature(CharSequence board, int usedMask) {
+        long hash = FNV_OFFSET;
+        boolean separator = false;
+        for (int i = 0; i < board.length(); i++) {
+            char c = board.charAt(i);
+            int bit = LetterMasks.bit(c);
+            if (c != '*' && bit == 0) {
+                separator = true; // Runs of separators count once, so "A, B" and "A B" are one position
+                continue;
+            }
+            if (separator && hash != FNV_OFFSET) {
+                hash = (hash ^ ' ') * FNV_PRIME;
+            }
+            separator = false;
+            hash = (hash ^ (c == '*' ? '*' : 'a' + Integer.numberOfTrailingZeros(bit))) * FNV_PRIME;
+        }
+        return mix(hash ^ ((long) (usedMask & LetterMasks.ALPHABET) << 32));
+    }
+
+    // The SplitMix64 finalizer, spreading the hash over every bit
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Computes the fingerprint of a corpus and its index, so that a book is never used with another
+     * corpus than the one it was generated from.
+     *
+     * @param phrases The corpus.
+     * @param index   The index built from it.
+     * @return The fingerprint.
+     */
+    public static long fingerprint(List<String> phrases, LexiconIndex index) {
+        long hash = mix(index.size());
+        for (String phrase : phrases) {
+            hash = mix(hash ^ Phrases.hash64(phrase));
+        }
+        return hash;
+    }
+
+    /**
+     * Writes the book to a temporary file first and then moves it into place, so a crash while writing
+     * never leaves a truncated book behind.
+     */
+    private static void write(Path file, long fingerprint, int depth, int entries, long[] slots) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fingerprint);
+            out.writeInt(depth);
+            out.writeInt(entries);
+            out.writeInt(slots.length);
+            for (long slot : slots) {
+                out.writeLong(slot);
+            }
+        }
+        try {
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Memory-maps a book file.
+     *
+     * @param file    The book file.
+     * @param phrases The corpus the index was built from.
+     * @param index   The index the book will stand in for.
+     * @return The book.
+     * @throws IOException If the file cannot be read, is not a book, or was generated from another corpus.
+     */
+    public static OpeningBook load(Path file, List<String> phrases, LexiconIndex index) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (in.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + file);
+            }
+            ByteBuffer data = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size()); // Stays valid after closing
+            if (data.remaining() < HEADER_BYTES || data.getInt() != MAGIC || data.getInt() != VERSION) {
+                throw new IOException("Not an opening book: " + file);
+            }
+            long fingerprint = data.getLong();
+            int depth = data.getInt();
+            int entries = data.getInt();
+            int capacity = data.getInt();
+            if (capacity <= 0 || Integer.bitCount(capacity) != 1 || data.remaining() != capacity * 8L) {
+                throw new IOException("Corrupt opening book: " + file);
+            }
+            if (fingerprint != fingerprint(phrases, index)) {
+                throw new IOException("Opening book " + file + " was generated from another corpus");
+            }
+            return new OpeningBook(data.slice(), fingerprint, depth, entries, capacity);
+        }
+    }
+
+    /**
+     * Looks up the booked move of a position.
+     *
+     * @param board    The board, with '*' for hidden letters.
+     * @param usedMask The LetterMasks of the letters guessed so far.
+     * @return The booked letter, 0 if the index knows none of the hidden words there, or MISS if the
+     *         position is not in the book.
+     */
+    public int lookup(CharSequence board, int usedMask) {
+        long signature = signature(board, usedMask);
+        long key = signature & ~MOVE_BITS;
+        key = key == 0 ? ~MOVE_BITS : key;
+        for (int i = (int) mix(key >>> 5) & mask; ; i = (i + 1) & mask) {
+            long slot = table.getLong(i << 3);
+            if (slot == 0) {
+                return MISS;
+            }
+            if ((slot & ~MOVE_BITS) == key) {
+                int move = (int) (slot & MOVE_BITS);
+                return move == NO_LETTER ? 0 : LetterMasks.letter(move - 1);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of positions in the book.
+     *
+     * @return The number of positions.
+     */
+    public int size() {
+        return entries;
+    }
+
+    /**
+     * Returns the number of moves booked per game.
+     *
+     * @return The depth.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    @Override
+    public String toString() {
+        return "OpeningBook{" +
+                "fingerprint=" + Long.toHexString(fingerprint) +
+                ", depth=" + depth +
+                ", entries=" + entries +
+                ", capacity=" + (mask + 1) +
+                '}';
+    }
+
+    /**
+     * Generates the opening book of a corpus.
+     * Usage: java OpeningBook phrases.txt book.bin [depth] [threads]
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If the corpus cannot be read or the book cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java OpeningBook phrases.txt book.bin [depth] [threads]");
+            System.exit(2);
+        }
+        List<String> phrases = Phrases.read(Paths.get(args[0]));
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        int entries = generate(phrases, LexiconIndex.ofPhrases(phrases), depth, threads, Paths.get(args[1]));
+        System.out.printf("Booked %d positions of %d phrases, %d moves deep, in %d ms%n",
+                entries, phrases.size(), depth, (System.nanoTime() - start) / 1_000_000);
+    }
+}
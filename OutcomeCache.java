@@ -0,0 +1,209 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The OutcomeCache memoizes how the deterministic prefix of a strategy plays out against a phrase.
+ * A player such as AIPlayer or AIPlayerMediocre guesses the same letters in the same order on every
+ * game of a phrase until its prefix runs out, so that part of the game is computed once and stored
+ * under (strategy fingerprint, phrase). When the game ends within the prefix, the stored outcome is the
+ * whole game; otherwise only the random tail after the prefix is simulated.
+ *
+ * <p>The cache holds at most a fixed number of entries and evicts the least recently used one when
+ * full. It is safe to share between threads.</p>
+ */
+public class OutcomeCache {
+
+    private final int capacity;                 // Maximum number of memoized outcomes
+    private final Map<Key, PrefixOutcome> entries; // Access ordered for LRU eviction, guarded by this
+    private long hits;                          // Guarded by this
+    private long misses;                        // Guarded by this
+
+    /**
+     * Constructs an OutcomeCache holding at most the given number of outcomes.
+     *
+     * @param capacity The maximum number of memoized outcomes.
+     */
+    public OutcomeCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Key, PrefixOutcome>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PrefixOutcome> eldest) {
+                return size() > OutcomeCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Plays a game of the phrase with the player, reusing the memoized outcome of the player's
+     * deterministic prefix and simulating only the guesses after it. The result is the same as
+     * playing the game in WheelOfFortuneAIGame, without the per-guess console output.
+     *
+     * @param player    The player, which is reset before the game.
+     * @param phrase    The phrase to play.
+     * @param maxMisses The number of incorrect guesses allowed.
+     * @return The game record with the player's score and ID.
+     */
+    public GameRecord play(WheelOfFortunePlayer player, String phrase, int maxMisses) {
+        PrefixOutcome outcome = prefixOutcome(player, phrase, maxMisses);
+        player.reset();
+        if (outcome.finished) {
+            return new GameRecord(outcome.score, player.playerId());
+        }
+
+        // Bring the player to the end of its prefix, then simulate the rest of the game
+        for (int i = 0; i < outcome.prefixLength; i++) {
+            player.nextGuess();
+        }
+        int phraseMask = outcome.phraseMask;
+        int usedMask = outcome.usedMask;
+        int score = outcome.score;
+        int missCount = outcome.misses;
+        while (missCount < maxMisses && !LetterMasks.isSolved(phraseMask, usedMask)) {
+            int bit = LetterMasks.bit(player.nextGuess());
+            usedMask |= bit;
+            if ((phraseMask & bit) != 0) {
+                score++;
+            } else {
+                missCount++;
+            }
+        }
+        return new GameRecord(score, player.playerId());
+    }
+
+    private PrefixOutcome prefixOutcome(WheelOfFortunePlayer player, String phrase, int maxMisses) {
+        Key key = new Key(player.strategyFingerprint(), phrase, maxMisses);
+        synchronized (this) {
+            PrefixOutcome outcome = entries.get(key);
+            if (outcome != null) {
+                hits++;
+                return outcome;
+            }
+            misses++;
+        }
+
+        // Computed outside the lock; two threads racing on the same key compute the same value
+        PrefixOutcome outcome = simulatePrefix(player.deterministicPrefix(), phrase, maxMisses);
+        synchronized (this) {
+            entries.put(key, outcome);
+        }
+        return outcome;
+    }
+
+    private static PrefixOutcome simulatePrefix(char[] prefix, String phrase, int maxMisses) {
+        int phraseMask = LetterMasks.phraseMask(phrase);
+        int usedMask = 0;
+        int score = 0;
+        int missCount = 0;
+        int consumed = 0;
+        while (consumed < prefix.length && missCount < maxMisses && !LetterMasks.isSolved(phraseMask, usedMask)) {
+            int bit = LetterMasks.bit(prefix[consumed++]);
+            usedMask |= bit;
+            if ((phraseMask & bit) != 0) {
+                score++;
+            } else {
+                missCount++;
+            }
+        }
+        boolean finished = missCount >= maxMisses || LetterMasks.isSolved(phraseMask, usedMask);
+        return new PrefixOutcome(phraseMask, usedMask, score, missCount, consumed, finished);
+    }
+
+    /**
+     * Returns the number of memoized outcomes currently held.
+     *
+     * @return The number of entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of games that found their prefix outcome in the cache.
+     *
+     * @return The number of cache hits.
+     */
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of games that had to simulate their prefix.
+     *
+     * @return The number of cache misses.
+     */
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    /**
+     * Removes all memoized outcomes.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "OutcomeCache{" +
+                "capacity=" + capacity +
+                ", size=" + entries.size() +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                '}';
+    }
+
+    /**
+     * Cache key: the strategy, the phrase and the number of misses allowed.
+     */
+    private static final class Key {
+        private final String fingerprint;
+        private final String phrase;
+        private final int maxMisses;
+        private final int hash;
+
+        Key(String fingerprint, String phrase, int maxMisses) {
+            this.fingerprint = fingerprint;
+            this.phrase = phrase;
+            this.maxMisses = maxMisses;
+            this.hash = Objects.hash(fingerprint, phrase, maxMisses);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return maxMisses == that.maxMisses && fingerprint.equals(that.fingerprint) && phrase.equals(that.phrase);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The state of a game at the end of a strategy's deterministic prefix.
+     */
+    private static final class PrefixOutcome {
+        private final int phraseMask;   // Letters in the phrase
+        private final int usedMask;     // Letters guessed during the prefix
+        private final int score;        // Correct guesses during the prefix
+        private final int misses;       // Incorrect guesses during the prefix
+        private final int prefixLength; // Number of prefix letters guessed before the game ended or the prefix ran out
+        private final boolean finished; // Whether the game ended within the prefix
+
+        PrefixOutcome(int phraseMask, int usedMask, int score, int misses, int prefixLength, boolean finished) {
+            this.phraseMask = phraseMask;
+            this.usedMask = usedMask;
+            this.score = score;
+            this.misses = misses;
+            this.prefixLength = prefixLength;
+            this.finished = finished;
+        }
+    }
+}
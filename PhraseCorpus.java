@@ -0,0 +1,279 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The PhraseCorpus class holds the current phrase corpus of a long-running process and lets it be
+ * replaced without a restart. The corpus is published as an immutable Snapshot (the phrases and the
+ * indexes derived from them) behind an AtomicReference. A reload reads and indexes the new file off
+ * to the side, then publishes it with a single reference swap, in the style of read-copy-update:
+ * readers only ever do a volatile read, so they never wait for a reload, and whoever still holds the
+ * old snapshot, such as a game in flight, keeps using it until it lets go.
+ *
+ * <p>Reloads can be run in the calling thread, queued on the corpus' background thread, or triggered
+ * automatically whenever the phrase file's modification time changes. A reload that fails leaves the
+ * current snapshot in place.</p>
+ */
+public final class PhraseCorpus implements AutoCloseable {
+
+    private final Path file;                                 // Phrase file reloads read from, or null
+    private final AtomicReference<Snapshot> current;         // Published snapshot
+    private final Object reloadLock = new Object();          // Serializes reloads, never taken by readers
+    private ScheduledExecutorService reloader;               // Background reload thread, created on first use
+    private FileTime watchedTime;                            // Modification time of the file last loaded by watch
+
+    private PhraseCorpus(Path file, Snapshot first) {
+        this.file = file;
+        this.current = new AtomicReference<>(first);
+    }
+
+    /**
+     * Creates a corpus from a phrase file, loading it in the calling thread.
+     *
+     * @param file The phrase file, one phrase per line as read by Phrases.read.
+     * @return The corpus.
+     * @throws IOException If the file cannot be read or holds no phrases.
+     */
+    public static PhraseCorpus load(Path file) throws IOException {
+        return new PhraseCorpus(file, Snapshot.build(1, file, read(file)));
+    }
+
+    /**
+     * Creates a corpus from phrases held in memory. Such a corpus can only be changed with publish.
+     *
+     * @param phrases The phrases.
+     * @return The corpus.
+     */
+    public static PhraseCorpus of(List<String> phrases) {
+        return new PhraseCorpus(null, Snapshot.build(1, null, phrases));
+    }
+
+    /**
+     * Returns the current snapshot. This never blocks, even while a reload is running.
+     *
+     * @return The current snapshot.
+     */
+    public Snapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Reads the phrase file again, indexes it and publishes it, all in the calling thread.
+     *
+     * @return The new snapshot.
+     * @throws IOException If the file cannot be read or holds no phrases. The current snapshot is kept.
+     * @throws IllegalStateException If the corpus was not loaded from a file.
+     */
+    public Snapshot reload() throws IOException {
+        if (file == null) {
+            throw new IllegalStateException("The corpus was not loaded from a file");
+        }
+        synchronized (reloadLock) {
+            return swap(Snapshot.build(current.get().version + 1, file, read(file)));
+        }
+    }
+
+    private static List<String> read(Path file) throws IOException {
+        List<String> phrases = Phrases.read(file);
+        if (phrases.isEmpty()) {
+            throw new IOException(file + " holds no phrases");
+        }
+        return phrases;
+    }
+
+    /**
+     * Builds a snapshot of the given phrases and publishes it, in the calling thread.
+     *
+     * @param phrases The new phrases.
+     * @return The new snapshot.
+     * @throws IllegalArgumentException If there are no phrases.
+     */
+    public Snapshot publish(List<String> phrases) {
+        synchronized (reloadLock) {
+            return swap(Snapshot.build(current.get().version + 1, file, phrases));
+        }
+    }
+
+    private Snapshot swap(Snapshot next) {
+        current.set(next); // The only write readers can see
+        return next;
+    }
+
+    /**
+     * Queues a reload on the corpus' background thread.
+     *
+     * @return A future completed with the new snapshot, or exceptionally if the reload failed.
+     */
+    public CompletableFuture<Snapshot> reloadAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return reload();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, reloader());
+    }
+
+    /**
+     * Checks the phrase file's modification time periodically on the background thread and reloads
+     * the corpus whenever it changes. Failed reloads are reported on standard error and retried at
+     * the next change.
+     *
+     * @param periodMillis The time between checks, in milliseconds.
+     * @throws IOException If the modification time of the file cannot be read.
+     */
+    public synchronized void watch(long periodMillis) throws IOException {
+        if (file == null) {
+            throw new IllegalStateException("The corpus was not loaded from a file");
+        }
+        watchedTime = Files.getLastModifiedTime(file);
+        reloader().scheduleWithFixedDelay(this::reloadIfModified, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void reloadIfModified() {
+        try {
+            FileTime time = Files.getLastModifiedTime(file);
+            if (!time.equals(watchedTime)) {
+                watchedTime = time; // Only retry once the file changes again
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            // The old snapshot stays; an exception escaping the scheduled task would end the watch for good
+            System.err.println("Phrase corpus reload from " + file + " failed: " + e);
+        }
+    }
+
+    private synchronized ScheduledExecutorService reloader() {
+        if (reloader == null) {
+            reloader = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "wof-corpus-reload");
+                thread.setDaemon(true); // Never keeps the JVM alive
+                return thread;
+            });
+        }
+        return reloader;
+    }
+
+    /**
+     * Stops watching the file and shuts down the background thread. The current snapshot stays readable.
+     */
+    @Override
+    public synchronized void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+            reloader = null;
+        }
+    }
+
+    /**
+     * Returns the phrase file the corpus reloads from.
+     *
+     * @return The file, or null if the corpus was built from phrases in memory.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return "PhraseCorpus{" +
+                "file=" + file +
+                ", current=" + current.get() +
+                '}';
+    }
+
+    /**
+     * One immutable version of the corpus: the phrases and the indexes derived from them. A snapshot
+     * is never modified after it is published, so it can be read by any number of threads.
+     */
+    public static final class Snapshot {
+        private final long version;       // Increases by one with every publication
+        private final Path source;        // File the phrases were read from, or null
+        private final List<String> phrases;
+        private final int[] phraseMasks;  // LetterMasks.phraseMask of each phrase
+        private final LexiconIndex lexicon;
+
+        private Snapshot(long version, Path source, List<String> phrases) {
+            this.version = version;
+            this.source = source;
+            this.phrases = Collections.unmodifiableList(new ArrayList<>(phrases));
+            this.phraseMasks = new int[phrases.size()];
+            for (int i = 0; i < phraseMasks.length; i++) {
+                phraseMasks[i] = LetterMasks.phraseMask(this.phrases.get(i));
+            }
+            this.lexicon = LexiconIndex.ofPhrases(this.phrases);
+        }
+
+        static Snapshot build(long version, Path source, List<String> phrases) {
+            if (phrases.isEmpty()) {
+                throw new IllegalArgumentException("A phrase corpus needs at least one phrase");
+            }
+            return new Snapshot(version, source, phrases);
+        }
+
+        /**
+         * Returns the version of this snapshot, 1 for the first one.
+         *
+         * @return The version.
+         */
+        public long version() {
+            return version;
+        }
+
+        /**
+         * Returns the phrases of this snapshot.
+         *
+         * @return An unmodifiable list of the phrases.
+         */
+        public List<String> phrases() {
+            return phrases;
+        }
+
+        /**
+         * Returns the number of phrases.
+         *
+         * @return The number of phrases.
+         */
+        public int size() {
+            return phrases.size();
+        }
+
+        /**
+         * Returns the letters of a phrase as a LetterMasks mask.
+         *
+         * @param index The index of the phrase.
+         * @return The phrase's letter mask.
+         */
+        public int phraseMask(int index) {
+            return phraseMasks[index];
+        }
+
+        /**
+         * Returns the index of the words of the phrases.
+         *
+         * @return The lexicon index.
+         */
+        public LexiconIndex lexicon() {
+            return lexicon;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "version=" + version +
+                    ", source=" + source +
+                    ", phrases=" + phrases.size() +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,97 @@
+import java.util.Arrays;
+
+/**
+ * The PhraseDifficulty class holds how hard a single phrase is for each strategy, measured as the
+ * fraction of simulated games that solved the phrase and the mean score of those games. Phrases are
+ * identified by their 64-bit hash, so the difficulty file never needs to store the phrases themselves.
+ */
+public final class PhraseDifficulty {
+
+    private final long phraseHash;     // Phrases.hash64 of the phrase
+    private final float[] solveRates;  // Fraction of games solved, one entry per strategy
+    private final float[] meanScores;  // Mean score, one entry per strategy
+
+    /**
+     * Constructs a PhraseDifficulty.
+     *
+     * @param phraseHash The hash of the phrase.
+     * @param solveRates The solve rate of each strategy.
+     * @param meanScores The mean score of each strategy.
+     */
+    public PhraseDifficulty(long phraseHash, float[] solveRates, float[] meanScores) {
+        this.phraseHash = phraseHash;
+        this.solveRates = solveRates.clone();
+        this.meanScores = meanScores.clone();
+    }
+
+    public long getPhraseHash() {
+        return phraseHash;
+    }
+
+    /**
+     * Returns the fraction of games the given strategy solved.
+     *
+     * @param strategy The index of the strategy in the pipeline's strategy list.
+     * @return The solve rate between 0 and 1.
+     */
+    public float getSolveRate(int strategy) {
+        return solveRates[strategy];
+    }
+
+    /**
+     * Returns the mean score of the given strategy.
+     *
+     * @param strategy The index of the strategy in the pipeline's strategy list.
+     * @return The mean score.
+     */
+    public float getMeanScore(int strategy) {
+        return meanScores[strategy];
+    }
+
+    /**
+     * Returns the number of strategies this difficulty was measured for.
+     *
+     * @return The number of strategies.
+     */
+    public int strategyCount() {
+        return solveRates.length;
+    }
+
+    /**
+     * Returns the solve rate averaged over all strategies, a single number for how hard the phrase is.
+     *
+     * @return The average solve rate between 0 and 1.
+     */
+    public float averageSolveRate() {
+        float sum = 0;
+        for (float rate : solveRates) {
+            sum += rate;
+        }
+        return solveRates.length == 0 ? 0 : sum / solveRates.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PhraseDifficulty that = (PhraseDifficulty) o;
+        return phraseHash == that.phraseHash && Arrays.equals(solveRates, that.solveRates) && Arrays.equals(meanScores, that.meanScores);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(phraseHash);
+        result = 31 * result + Arrays.hashCode(solveRates);
+        result = 31 * result + Arrays.hashCode(meanScores);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PhraseDifficulty{" +
+                "phraseHash=" + Long.toHexString(phraseHash) +
+                ", solveRates=" + Arrays.toString(solveRates) +
+                ", meanScores=" + Arrays.toString(meanScores) +
+                '}';
+    }
+}
@@ -0,0 +1,259 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The PhraseDifficultyPipeline measures how hard every phrase of a corpus is by simulating it against
+ * every deterministic registered AI strategy with console output silenced. Phrases are simulated in
+ * parallel and the results are written to a compact binary difficulty file keyed by phrase hash. On a
+ * rerun the existing file is read first, and only phrases whose hash is not already in it are simulated.
+ * Every trial seeds the random players from the phrase hash and the trial number, so an entry is the
+ * same whichever run, chunk or thread computed it.
+ *
+ * <p>File layout: int magic, int version, int strategy count, the strategy names (UTF), int trials per
+ * strategy, int entry count, then per entry a long phrase hash followed by a float solve rate and a
+ * float mean score for each strategy. A file written for a different strategy list or trial count is
+ * ignored and rebuilt.</p>
+ */
+public class PhraseDifficultyPipeline {
+
+    private static final int MAGIC = 0x57444946; // "WDIF"
+    private static final int VERSION = 2; // 2: every trial is seeded from the phrase
+
+    private final List<String> strategies; // Strategy names from StrategyRegistry
+    private final int trials;              // Games per phrase per strategy
+    private final int threads;             // Number of simulation threads
+
+    /**
+     * Constructs a PhraseDifficultyPipeline.
+     *
+     * @param strategies The names of the strategies to simulate, as registered in StrategyRegistry.
+     * @param trials     The number of games played per phrase and strategy.
+     * @param threads    The number of simulation threads.
+     */
+    public PhraseDifficultyPipeline(List<String> strategies, int trials, int threads) {
+        if (strategies.isEmpty() || trials <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Need at least one strategy, one trial and one thread");
+        }
+        this.strategies = new ArrayList<>(strategies);
+        this.trials = trials;
+        this.threads = threads;
+    }
+
+    /**
+     * Computes the difficulty of every phrase of the corpus, reusing the entries already stored in
+     * the difficulty file, and writes the updated file back.
+     *
+     * @param corpus         The phrases to score.
+     * @param difficultyFile The difficulty file to read and update.
+     * @return The difficulty of every phrase in the file, keyed by phrase hash.
+     * @throws IOException If the difficulty file cannot be read or written.
+     */
+    public Map<Long, PhraseDifficulty> run(List<String> corpus, Path difficultyFile) throws IOException {
+        Map<Long, PhraseDifficulty> difficulties = load(difficultyFile);
+
+        Map<Long, String> pending = new LinkedHashMap<>();
+        for (String phrase : corpus) {
+            long hash = Phrases.hash64(phrase);
+            if (!difficulties.containsKey(hash)) {
+                pending.putIfAbsent(hash, phrase); // Duplicate phrases are simulated once
+            }
+        }
+
+        if (!pending.isEmpty() || !Files.exists(difficultyFile)) {
+            for (PhraseDifficulty difficulty : simulate(new ArrayList<>(pending.values()))) {
+                difficulties.put(difficulty.getPhraseHash(), difficulty);
+            }
+            write(difficultyFile, difficulties);
+        }
+        return difficulties;
+    }
+
+    /**
+     * Simulates the given phrases against every strategy in parallel.
+     *
+     * @param phrases The phrases to simulate.
+     * @return The difficulty of each phrase, in the same order.
+     */
+    private List<PhraseDifficulty> simulate(List<String> phrases) throws IOException {
+        if (phrases.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Several chunks per thread keep the threads busy when some phrases take longer than others
+        int chunkSize = Math.max(1, phrases.size() / (threads * 4));
+        List<Callable<List<PhraseDifficulty>>> tasks = new ArrayList<>();
+        for (int start = 0; start < phrases.size(); start += chunkSize) {
+            List<String> chunk = phrases.subList(start, Math.min(phrases.size(), start + chunkSize));
+            tasks.add(() -> simulateChunk(chunk));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<PhraseDifficulty> results = new ArrayList<>(phrases.size());
+            for (Future<List<PhraseDifficulty>> future : pool.invokeAll(tasks)) {
+                results.addAll(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while simulating phrases", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<PhraseDifficulty> simulateChunk(List<String> chunk) {
+        WheelOfFortuneAIGame game = new WheelOfFortuneAIGame(new ArrayList<>(), chunk);
+        game.setQuiet(true);
+        List<WheelOfFortunePlayer> players = new ArrayList<>();
+        for (String strategy : strategies) {
+            players.add(StrategyRegistry.create(strategy, strategy));
+        }
+
+        List<PhraseDifficulty> results = new ArrayList<>(chunk.size());
+        float[] solveRates = new float[players.size()];
+        float[] meanScores = new float[players.size()];
+        for (String phrase : chunk) {
+            long hash = Phrases.hash64(phrase);
+            for (int s = 0; s < players.size(); s++) {
+                int solved = 0;
+                long scoreSum = 0;
+                for (int t = 0; t < trials; t++) {
+                    if (players.get(s) instanceof StrategyPlayer) {
+                        // Seeded by the phrase and trial alone, so results do not depend on chunking, threads or the run
+                        ((StrategyPlayer) players.get(s)).getState().reset(PlayerState.seedFor(hash, (long) s * trials + t));
+                    }
+                    scoreSum += game.play(phrase, players.get(s)).getScore();
+                    if (game.isWinningGuess(null)) {
+                        solved++;
+                    }
+                }
+                solveRates[s] = (float) solved / trials;
+                meanScores[s] = (float) scoreSum / trials;
+            }
+            results.add(new PhraseDifficulty(hash, solveRates, meanScores));
+        }
+        return results;
+    }
+
+    /**
+     * Loads the difficulty file. A missing file, or one written for other strategies or another
+     * trial count, yields an empty map so that everything is recomputed.
+     */
+    private Map<Long, PhraseDifficulty> load(Path file) throws IOException {
+        Map<Long, PhraseDifficulty> difficulties = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return difficulties;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return difficulties;
+            }
+            int strategyCount = in.readInt();
+            List<String> fileStrategies = new ArrayList<>(strategyCount);
+            for (int i = 0; i < strategyCount; i++) {
+                fileStrategies.add(in.readUTF());
+            }
+            if (!fileStrategies.equals(strategies) || in.readInt() != trials) {
+                return difficulties;
+            }
+
+            int entries = in.readInt();
+            float[] solveRates = new float[strategyCount];
+            float[] meanScores = new float[strategyCount];
+            for (int e = 0; e < entries; e++) {
+                long hash = in.readLong();
+                for (int s = 0; s < strategyCount; s++) {
+                    solveRates[s] = in.readFloat();
+                    meanScores[s] = in.readFloat();
+                }
+                difficulties.put(hash, new PhraseDifficulty(hash, solveRates, meanScores));
+            }
+        }
+        return difficulties;
+    }
+
+    /**
+     * Writes the difficulty file to a temporary file first and then moves it into place, so a crash
+     * while writing never leaves a truncated file behind.
+     */
+    private void write(Path file, Map<Long, PhraseDifficulty> difficulties) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(strategies.size());
+            for (String strategy : strategies) {
+                out.writeUTF(strategy);
+            }
+            out.writeInt(trials);
+            out.writeInt(difficulties.size());
+            for (PhraseDifficulty difficulty : difficulties.values()) {
+                out.writeLong(difficulty.getPhraseHash());
+                for (int s = 0; s < strategies.size(); s++) {
+                    out.writeFloat(difficulty.getSolveRate(s));
+                    out.writeFloat(difficulty.getMeanScore(s));
+                }
+            }
+        }
+        try {
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PhraseDifficultyPipeline{" +
+                "strategies=" + strategies +
+                ", trials=" + trials +
+                ", threads=" + threads +
+                '}';
+    }
+
+    /**
+     * Scores a phrase file against all deterministic registered strategies.
+     * Usage: java PhraseDifficultyPipeline phrases.txt difficulty.bin [trials] [threads]
+     *
+     * @param args The phrase file, the difficulty file, and optionally the trials and thread count.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java PhraseDifficultyPipeline phrases.txt difficulty.bin [trials] [threads]");
+            System.exit(2);
+        }
+        List<String> corpus = Phrases.read(Paths.get(args[0]));
+        int trials = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        PhraseDifficultyPipeline pipeline = new PhraseDifficultyPipeline(StrategyRegistry.deterministicNames(), trials, threads);
+        long start = System.nanoTime();
+        Map<Long, PhraseDifficulty> difficulties = pipeline.run(corpus, Paths.get(args[1]));
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Scored " + corpus.size() + " phrases (" + difficulties.size() + " in file) in " + millis + " ms");
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * A PhraseScheduler decides which phrase a game plays next. Games draw from a scheduler instead of
+ * doing their own random selection, so the selection policy (no-repeat deck, weighting by difficulty
+ * or category, ...) can be chosen independently of the game.
+ */
+public interface PhraseScheduler {
+
+    // Method to draw the next phrase to play
+    String next();
+
+    // Method to get the number of phrases the scheduler draws from
+    int size();
+}
@@ -0,0 +1,60 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Phrases class holds small helpers shared by the tools that work on whole phrase corpora,
+ * such as reading a phrase file and computing a stable hash that identifies a phrase.
+ */
+public final class Phrases {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Phrases() {
+        // Static helpers only
+    }
+
+    /**
+     * Reads a phrase file containing one phrase per line. Blank lines and lines starting with '#'
+     * are skipped, and surrounding whitespace is trimmed.
+     *
+     * @param file The phrase file to read.
+     * @return The phrases in file order.
+     * @throws IOException If the file cannot be read.
+     */
+    public static List<String> read(Path file) throws IOException {
+        List<String> phrases = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String phrase = line.trim();
+                if (!phrase.isEmpty() && phrase.charAt(0) != '#') {
+                    phrases.add(phrase);
+                }
+            }
+        }
+        return phrases;
+    }
+
+    /**
+     * Computes a 64-bit FNV-1a hash of the phrase. Unlike String.hashCode the hash is wide enough to
+     * key corpora of millions of phrases without practical collisions, and it is stable across runs.
+     *
+     * @param phrase The phrase to hash.
+     * @return The 64-bit hash of the phrase.
+     */
+    public static long hash64(String phrase) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = phrase.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,198 @@
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The PlayerState class holds everything about a player that changes during a game: the letters
+ * guessed so far and the ones that hit (as LetterMasks bit masks), the score, and the player's
+ * random number stream.
+ * Strategies keep no state of their own, so a single GuessStrategy instance can serve any number of
+ * games at once, each with its own small PlayerState.
+ *
+ * <p>The random stream is a SplitMix64 generator whose whole state is one long, which makes it
+ * cheap to seed per game, to copy and to checkpoint.</p>
+ */
+public final class PlayerState {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final AtomicLong SEED_SEQUENCE = new AtomicLong(System.nanoTime());
+
+    private int usedMask;   // Letters guessed in the current game
+    private int hitMask;    // Guessed letters that were in the phrase
+    private int lastGuess;  // Bit of the most recent guess, credited by incrementScore
+    private int score;      // Correct guesses in the current game
+    private long rngState;  // SplitMix64 state
+
+    /**
+     * Constructs a PlayerState with a random stream seeded differently for every instance.
+     */
+    public PlayerState() {
+        this(SEED_SEQUENCE.getAndAdd(GOLDEN_GAMMA) ^ System.nanoTime());
+    }
+
+    /**
+     * Constructs a PlayerState with a seeded random stream, for reproducible games.
+     *
+     * @param seed The seed of the random stream.
+     */
+    public PlayerState(long seed) {
+        this.rngState = seed;
+    }
+
+    /**
+     * Clears the used letters and the score for a new game. The random stream carries on.
+     */
+    public void clear() {
+        usedMask = 0;
+        hitMask = 0;
+        lastGuess = 0;
+        score = 0;
+    }
+
+    /**
+     * Clears the state for a new game and reseeds the random stream.
+     *
+     * @param seed The new seed of the random stream.
+     */
+    public void reset(long seed) {
+        clear();
+        rngState = seed;
+    }
+
+    /**
+     * Tells whether a letter has already been guessed in this game.
+     *
+     * @param letter The letter.
+     * @return true if the letter was guessed, otherwise false.
+     */
+    public boolean isUsed(char letter) {
+        return (usedMask & LetterMasks.bit(letter)) != 0;
+    }
+
+    /**
+     * Records a letter as guessed. If the game then calls incrementScore, the letter is also
+     * recorded as a hit.
+     *
+     * @param letter The guessed letter.
+     */
+    public void markUsed(char letter) {
+        lastGuess = LetterMasks.bit(letter);
+        usedMask |= lastGuess;
+    }
+
+    public int getUsedMask() {
+        return usedMask;
+    }
+
+    public int getHitMask() {
+        return hitMask;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    /**
+     * Increments the score after a correct guess and records the last guessed letter as a hit.
+     */
+    public void incrementScore() {
+        score++;
+        hitMask |= lastGuess;
+    }
+
+    public long getRngState() {
+        return rngState;
+    }
+
+    /**
+     * Draws a uniformly distributed int from the random stream.
+     *
+     * @param bound The exclusive upper bound, which must be positive.
+     * @return A value from 0 to bound - 1.
+     */
+    public int nextInt(int bound) {
+        rngState += GOLDEN_GAMMA;
+        return boundedInt(rngState, bound);
+    }
+
+    /**
+     * Derives the seed of one game from a base seed and the game's index. Seeding every game this
+     * way makes a run reproducible whatever the order or thread in which its games are played.
+     *
+     * @param baseSeed The seed of the whole run.
+     * @param index    The index of the game, or of any other unit of work, within the run.
+     * @return A well mixed seed for that game.
+     */
+    public static long seedFor(long baseSeed, long index) {
+        long z = baseSeed + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Advances a SplitMix64 state by one step. Batch simulators that keep random states in arrays
+     * use this together with boundedInt to draw exactly the same values as nextInt.
+     *
+     * @param state The current state.
+     * @return The next state.
+     */
+    public static long advance(long state) {
+        return state + GOLDEN_GAMMA;
+    }
+
+    /**
+     * Maps an advanced SplitMix64 state to an int below the bound.
+     *
+     * @param state The state after advancing.
+     * @param bound The exclusive upper bound, which must be positive.
+     * @return A value from 0 to bound - 1.
+     */
+    public static int boundedInt(long state, int bound) {
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        z = z ^ (z >>> 31);
+        return (int) (((z >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Copies this state, including the position of the random stream.
+     *
+     * @return An independent copy.
+     */
+    public PlayerState copy() {
+        PlayerState copy = new PlayerState(rngState);
+        copy.usedMask = usedMask;
+        copy.hitMask = hitMask;
+        copy.lastGuess = lastGuess;
+        copy.score = score;
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PlayerState that = (PlayerState) o;
+        return usedMask == that.usedMask && hitMask == that.hitMask && lastGuess == that.lastGuess
+                && score == that.score && rngState == that.rngState;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(usedMask, hitMask, lastGuess, score, rngState);
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerState{" +
+                "usedMask=" + Integer.toBinaryString(usedMask) +
+                ", hitMask=" + Integer.toBinaryString(hitMask) +
+                ", score=" + score +
+                '}';
+    }
+}
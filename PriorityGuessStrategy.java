@@ -0,0 +1,155 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The PriorityGuessStrategy guesses the first unused letter of a fixed priority order and, once the
+ * order is used up, a random unused letter. AIPlayer, AIPlayerMediocre and AIPlayerDumb are all this
+ * strategy with different orders (the dumb player's order is empty). Instances are immutable.
+ * The strategy also works on whole batches of games held in primitive arrays, as used by
+ * LockstepSimulator.
+ */
+public final class PriorityGuessStrategy implements GuessStrategy, BatchGuessStrategy {
+
+    private final String name;
+    private final char[] order;   // Letters in the order they are guessed
+    private final int[] orderBits; // LetterMasks bits of the letters in order
+    private final int[] prefixMasks; // prefixMasks[k]: the first k letters of the order
+    private final int orderMask;   // All letters of the order
+
+    /**
+     * Constructs a PriorityGuessStrategy.
+     *
+     * @param name  The name identifying the strategy.
+     * @param order The letters to guess first, in order.
+     */
+    public PriorityGuessStrategy(String name, char[] order) {
+        this.name = name;
+        this.order = order.clone();
+        this.orderBits = new int[order.length];
+        this.prefixMasks = new int[order.length + 1];
+        for (int i = 0; i < order.length; i++) {
+            orderBits[i] = LetterMasks.bit(order[i]);
+            prefixMasks[i + 1] = prefixMasks[i] | orderBits[i];
+        }
+        this.orderMask = prefixMasks[order.length];
+    }
+
+    /**
+     * Guesses the first unused letter of the priority order, or a random unused letter once the
+     * order is used up.
+     *
+     * @param state The player's state for the current game.
+     * @return The guessed letter.
+     */
+    @Override
+    public char nextGuess(PlayerState state) {
+        int used = state.getUsedMask();
+        for (char letter : order) {
+            if ((used & LetterMasks.bit(letter)) == 0) {
+                state.markUsed(letter);
+                return letter;
+            }
+        }
+        char letter = randomUnusedLetter(used, state.nextInt(26 - Integer.bitCount(used & LetterMasks.ALPHABET)));
+        state.markUsed(letter);
+        return letter;
+    }
+
+    /**
+     * Chooses the next guess of every listed game exactly as nextGuess would with the same used
+     * letters and random state.
+     *
+     * @param games      The indexes of the games to guess for.
+     * @param count      The number of entries of games to use.
+     * @param usedMasks  The letters already guessed in each game.
+     * @param rngStates  The SplitMix64 state of each game, advanced when a random letter is drawn.
+     * @param guesses    Receives the LetterMasks bit of each game's guess, indexed like games.
+     */
+    @Override
+    public void nextGuesses(int[] games, int count, int[] usedMasks, long[] rngStates, int[] guesses) {
+        for (int k = 0; k < count; k++) {
+            int g = games[k];
+            int used = usedMasks[g];
+            int guess = 0;
+            // Letters are guessed in order, so the used part of the order is normally a prefix of it
+            int prefix = Integer.bitCount(used & orderMask);
+            if ((used & prefixMasks[prefix]) == prefixMasks[prefix]) {
+                guess = prefix < orderBits.length ? orderBits[prefix] : 0;
+            } else {
+                for (int bit : orderBits) {
+                    if ((used & bit) == 0) {
+                        guess = bit;
+                        break;
+                    }
+                }
+            }
+            if (guess == 0) {
+                long state = PlayerState.advance(rngStates[g]);
+                rngStates[g] = state;
+                int free = ~used & LetterMasks.ALPHABET;
+                guess = nthBit(free, PlayerState.boundedInt(state, Integer.bitCount(free)));
+            }
+            guesses[k] = guess;
+        }
+    }
+
+    // Returns the n-th lowest set bit of the mask, as randomUnusedLetter picks it, by a branch-free binary search on bit counts
+    private static int nthBit(int mask, int n) {
+        int position = 0;
+        for (int width = 16; width > 0; width >>>= 1) {
+            int low = Integer.bitCount(mask & ((1 << width) - 1));
+            int skip = -((low - n - 1) >>> 31); // All ones when the n-th bit is above the low half
+            n -= low & skip;
+            mask >>>= width & skip;
+            position += width & skip;
+        }
+        return mask == 0 ? 0 : 1 << position;
+    }
+
+    /**
+     * Picks the n-th letter, counting from 'a', that is not in the used mask. Drawing n uniformly
+     * among the unused letters picks a uniformly random unused letter in a single draw.
+     *
+     * @param usedMask The letters already used.
+     * @param n        The index among the unused letters.
+     * @return The chosen letter.
+     */
+    public static char randomUnusedLetter(int usedMask, int n) {
+        int free = ~usedMask & LetterMasks.ALPHABET;
+        for (int i = 0; i < n; i++) {
+            free &= free - 1; // Drop the lowest unused letter
+        }
+        return LetterMasks.letter(Integer.numberOfTrailingZeros(free));
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public char[] deterministicPrefix() {
+        return order.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PriorityGuessStrategy that = (PriorityGuessStrategy) o;
+        return Objects.equals(name, that.name) && Arrays.equals(order, that.order);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(name) + Arrays.hashCode(order);
+    }
+
+    @Override
+    public String toString() {
+        return "PriorityGuessStrategy{" +
+                "name='" + name + '\'' +
+                ", order=" + new String(order) +
+                '}';
+    }
+}
@@ -0,0 +1,341 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The RecordExporter streams game records to a file as CSV, JSON Lines or a compact binary format.
+ * Records are encoded straight into a large direct ByteBuffer that is written to a FileChannel each
+ * time it fills up, so the output is never built in memory as a whole, however many records there are.
+ *
+ * <p>export(AllGamesRecord) writes the records added since the previous call, so a long simulation
+ * can be exported in pieces while games are still being recorded. An exporter is meant to be used by
+ * one thread at a time.</p>
+ *
+ * <p>The binary format starts with the int magic and a version byte. Every record is then a varint
+ * player reference followed by a varint score. The player reference is the index of the player in
+ * order of first appearance, shifted left by one; its low bit is set when the player appears for the
+ * first time, in which case the reference is followed by the varint length and UTF-8 bytes of the ID.</p>
+ */
+public class RecordExporter implements AutoCloseable {
+
+    /**
+     * The file formats an exporter can write.
+     */
+    public enum Format {
+        CSV,         // "player_id,score" lines with a header
+        JSON_LINES,  // One {"playerId":...,"score":...} object per line
+        BINARY       // Varint-encoded records with a player dictionary
+    }
+
+    private static final int BINARY_MAGIC = 0x57475231; // "WGR1"
+    private static final int BINARY_VERSION = 1;
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    private static final int EXPORT_CHUNK = 8192;      // Records copied out of an AllGamesRecord at a time
+    private static final int MAX_CACHED_PLAYERS = 1 << 16;
+
+    private final Format format;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;                      // Direct buffer holding encoded records
+    private final Map<String, byte[]> encodedPlayers = new HashMap<>(); // Player ID as written in text formats
+    private final Map<String, Integer> playerIndexes = new HashMap<>(); // Binary player dictionary
+    private final GameRecord[] chunk = new GameRecord[EXPORT_CHUNK];
+    private AllGamesRecord source;                        // Record exported by export(AllGamesRecord)
+    private int exported;                                 // Records of source exported so far
+    private long recordsWritten;
+    private long bytesWritten;
+
+    /**
+     * Constructs a RecordExporter writing to the given file, replacing its contents.
+     *
+     * @param file   The file to write.
+     * @param format The format of the file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public RecordExporter(Path file, Format format) throws IOException {
+        this(file, format, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a RecordExporter writing to the given file with a buffer of the given size.
+     *
+     * @param file       The file to write.
+     * @param format     The format of the file.
+     * @param bufferSize The size of the direct buffer in bytes.
+     * @throws IOException If the file cannot be opened.
+     */
+    public RecordExporter(Path file, Format format, int bufferSize) throws IOException {
+        if (bufferSize < 1024) {
+            throw new IllegalArgumentException("Buffer size must be at least 1024 bytes: " + bufferSize);
+        }
+        this.format = format;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        if (format == Format.CSV) {
+            buffer.put("player_id,score\n".getBytes(StandardCharsets.US_ASCII));
+        } else if (format == Format.BINARY) {
+            buffer.putInt(BINARY_MAGIC).put((byte) BINARY_VERSION);
+        }
+    }
+
+    /**
+     * Writes the records added to the AllGamesRecord since the previous call. Games may keep being
+     * added to it while it is exported; they are picked up by the next call.
+     *
+     * @param record The record to export. An exporter follows a single AllGamesRecord.
+     * @return The number of records written by this call.
+     * @throws IOException If writing fails.
+     */
+    public int export(AllGamesRecord record) throws IOException {
+        if (source == null) {
+            source = record;
+        } else if (source != record) {
+            throw new IllegalArgumentException("Exporter already follows another AllGamesRecord");
+        }
+        int written = 0;
+        int copied;
+        while ((copied = record.copyRecords(exported, chunk)) > 0) {
+            for (int i = 0; i < copied; i++) {
+                write(chunk[i]);
+                chunk[i] = null;
+            }
+            exported += copied;
+            written += copied;
+        }
+        return written;
+    }
+
+    /**
+     * Encodes a single record into the buffer, writing the buffer out first if it is too full.
+     *
+     * @param gameRecord The record to write.
+     * @throws IOException If writing fails.
+     */
+    public void write(GameRecord gameRecord) throws IOException {
+        if (format == Format.BINARY) {
+            writeBinary(gameRecord);
+        } else {
+            byte[] player = encodedPlayer(gameRecord.getPlayerId());
+            ensureRoom(player.length + 24);
+            if (format == Format.CSV) {
+                buffer.put(player).put((byte) ',');
+                putDecimal(gameRecord.getScore());
+                buffer.put((byte) '\n');
+            } else {
+                buffer.put(player); // Already holds {"playerId":"...","score":
+                putDecimal(gameRecord.getScore());
+                buffer.put((byte) '}').put((byte) '\n');
+            }
+        }
+        recordsWritten++;
+    }
+
+    private void writeBinary(GameRecord gameRecord) throws IOException {
+        String playerId = gameRecord.getPlayerId();
+        Integer index = playerIndexes.get(playerId);
+        if (index == null) {
+            byte[] id = playerId.getBytes(StandardCharsets.UTF_8);
+            ensureRoom(id.length + 20);
+            playerIndexes.put(playerId, playerIndexes.size());
+            putVarint(((long) (playerIndexes.size() - 1) << 1) | 1);
+            putVarint(id.length);
+            buffer.put(id);
+        } else {
+            ensureRoom(20);
+            putVarint((long) index << 1);
+        }
+        putVarint(gameRecord.getScore() & 0xffffffffL);
+    }
+
+    // Returns the player ID escaped for the text format, caching it since the same IDs recur
+    private byte[] encodedPlayer(String playerId) {
+        byte[] encoded = encodedPlayers.get(playerId);
+        if (encoded == null) {
+            if (encodedPlayers.size() >= MAX_CACHED_PLAYERS) {
+                encodedPlayers.clear();
+            }
+            String text = format == Format.CSV
+                    ? csvField(playerId)
+                    : "{\"playerId\":\"" + jsonString(playerId) + "\",\"score\":";
+            encoded = text.getBytes(StandardCharsets.UTF_8);
+            encodedPlayers.put(playerId, encoded);
+        }
+        return encoded;
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Escapes a string for use inside a JSON string literal; also used by StatsServer
+    static String jsonString(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private void putDecimal(int value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+            if (value == Integer.MIN_VALUE) {
+                buffer.put("2147483648".getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            value = -value;
+        }
+        if (value < 100) { // Game scores almost always take this path
+            if (value >= 10) {
+                buffer.put((byte) ('0' + value / 10));
+            }
+            buffer.put((byte) ('0' + value % 10));
+            return;
+        }
+        int divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    private void putVarint(long value) {
+        while ((value & ~0x7fL) != 0) {
+            buffer.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+            if (buffer.remaining() < bytes) {
+                throw new IOException("Record of " + bytes + " bytes does not fit the export buffer");
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes out everything encoded so far, so readers of the file see all records written.
+     *
+     * @throws IOException If writing fails.
+     */
+    public void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * Returns the number of records written so far.
+     *
+     * @return The number of records.
+     */
+    public long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    /**
+     * Returns the number of bytes written to the file so far, not counting those still buffered.
+     *
+     * @return The number of bytes.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Writes out the remaining buffered records and closes the file.
+     *
+     * @throws IOException If writing or closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads a file written in the binary format, passing each record to the consumer in order.
+     *
+     * @param file     The binary file.
+     * @param consumer The consumer receiving each record.
+     * @return The number of records read.
+     * @throws IOException If the file cannot be read or is not in the binary format.
+     */
+    public static long readBinary(Path file, Consumer<GameRecord> consumer) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (in.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + file);
+            }
+            ByteBuffer data = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            if (data.remaining() < 5 || data.getInt() != BINARY_MAGIC || data.get() != BINARY_VERSION) {
+                throw new IOException("Not a binary game record file: " + file);
+            }
+            List<String> players = new ArrayList<>();
+            long count = 0;
+            while (data.hasRemaining()) {
+                long reference = getVarint(data);
+                if ((reference & 1) != 0) {
+                    byte[] id = new byte[(int) getVarint(data)];
+                    data.get(id);
+                    players.add(new String(id, StandardCharsets.UTF_8));
+                }
+                String playerId = players.get((int) (reference >>> 1));
+                consumer.accept(new GameRecord((int) getVarint(data), playerId));
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private static long getVarint(ByteBuffer data) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = data.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RecordExporter{" +
+                "format=" + format +
+                ", recordsWritten=" + recordsWritten +
+                ", bytesWritten=" + bytesWritten +
+                '}';
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * The ScalarLetterMatcher compares the folded phrase with the letter one byte at a time. It is the
+ * LetterMatcher used when the vector API is not available.
+ */
+public final class ScalarLetterMatcher implements LetterMatcher {
+
+    @Override
+    public int reveal(byte[] folded, byte letter, String phrase, StringBuilder hiddenPhrase) {
+        int revealed = 0;
+        for (int i = 0; i < folded.length; i++) {
+            if (folded[i] == letter) {
+                hiddenPhrase.setCharAt(i, phrase.charAt(i)); // Reveal the letter
+                revealed++;
+            }
+        }
+        return revealed;
+    }
+
+    @Override
+    public String toString() {
+        return "ScalarLetterMatcher";
+    }
+}
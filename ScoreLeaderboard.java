@@ -0,0 +1,233 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The ScoreLeaderboard answers rank queries over all recorded games without sorting them. It keeps
+ * the number of games per score value in a Fenwick (binary indexed) tree, so adding a game and
+ * counting the games above or below a score both take O(log S) time, where S is the range of scores
+ * seen. It also keeps every player's personal best, so a player's position is a single rank query.
+ *
+ * <p>Writers take a write lock. Readers run optimistically without locking and retry under a read
+ * lock only if a writer got in the way, so any number of threads can query while games are added.</p>
+ */
+public class ScoreLeaderboard {
+
+    private static final int INITIAL_RANGE = 64; // Scores covered before the tree first grows
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<String, Integer> personalBests = new ConcurrentHashMap<>();
+    private long[] tree;     // Fenwick tree over counts[0 .. tree.length - 2], 1-based
+    private long[] counts;   // counts[i]: games with score base + i, kept to rebuild the tree on growth
+    private int base;        // Lowest score the tree covers
+    private long total;      // Number of games
+
+    /**
+     * Constructs an empty ScoreLeaderboard.
+     */
+    public ScoreLeaderboard() {
+        this.counts = new long[INITIAL_RANGE];
+        this.tree = new long[INITIAL_RANGE + 1];
+    }
+
+    /**
+     * Records a game.
+     *
+     * @param gameRecord The game to record.
+     */
+    public void add(GameRecord gameRecord) {
+        int score = gameRecord.getScore();
+        long stamp = lock.writeLock();
+        try {
+            if (score < base || score - base >= counts.length) {
+                grow(score);
+            }
+            int index = score - base;
+            counts[index]++;
+            for (int i = index + 1; i < tree.length; i += i & -i) {
+                tree[i]++;
+            }
+            total++;
+            personalBests.merge(gameRecord.getPlayerId(), score, Math::max);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Widens the covered range, doubling it until it includes the score, and rebuilds the tree in O(S)
+    private void grow(int score) {
+        long low = base;
+        long high = (long) base + counts.length; // Exclusive
+        while (score < low || score >= high) {
+            long width = high - low;
+            if (score < low) {
+                low -= width;
+            } else {
+                high += width;
+            }
+        }
+        if (high - low > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Score range too wide for the leaderboard: " + low + " to " + high);
+        }
+        long[] widened = new long[(int) (high - low)];
+        System.arraycopy(counts, 0, widened, (int) (base - low), counts.length);
+        long[] rebuilt = new long[widened.length + 1];
+        for (int i = 1; i < rebuilt.length; i++) {
+            rebuilt[i] += widened[i - 1];
+            int parent = i + (i & -i);
+            if (parent < rebuilt.length) {
+                rebuilt[parent] += rebuilt[i];
+            }
+        }
+        counts = widened;
+        tree = rebuilt;
+        base = (int) low;
+    }
+
+    /**
+     * Counts the games scoring strictly more than the given score.
+     *
+     * @param score The score.
+     * @return The number of games with a higher score.
+     */
+    public long countAbove(int score) {
+        long stamp = lock.tryOptimisticRead();
+        long above = total - countAtMost(tree, base, score);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                above = total - countAtMost(tree, base, score);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return above;
+    }
+
+    /**
+     * Counts the games scoring strictly less than the given score.
+     *
+     * @param score The score.
+     * @return The number of games with a lower score.
+     */
+    public long countBelow(int score) {
+        return score == Integer.MIN_VALUE ? 0 : countAtMostLocked(score - 1);
+    }
+
+    /**
+     * Returns the rank a game with the given score would have: one more than the number of games
+     * that scored higher, so equal scores share a rank.
+     *
+     * @param score The score.
+     * @return The rank, starting at 1.
+     */
+    public long rank(int score) {
+        return countAbove(score) + 1;
+    }
+
+    /**
+     * Returns the percentile rank of a score: the percentage of games that scored lower, counting
+     * games with an equal score as half.
+     *
+     * @param score The score.
+     * @return The percentile rank from 0 to 100, or 0 if no games are recorded.
+     */
+    public double percentileRank(int score) {
+        long stamp = lock.tryOptimisticRead();
+        double percentile = percentileRank(tree, base, total, score);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                percentile = percentileRank(tree, base, total, score);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return percentile;
+    }
+
+    private static double percentileRank(long[] tree, int base, long total, int score) {
+        if (total == 0) {
+            return 0;
+        }
+        long atMost = countAtMost(tree, base, score);
+        long below = score == Integer.MIN_VALUE ? 0 : countAtMost(tree, base, score - 1);
+        return 100.0 * (below + (atMost - below) / 2.0) / total;
+    }
+
+    /**
+     * Returns a player's best score.
+     *
+     * @param playerId The ID of the player.
+     * @return The player's best score, or null if the player has no recorded games.
+     */
+    public Integer personalBest(String playerId) {
+        return personalBests.get(playerId);
+    }
+
+    /**
+     * Returns the rank of a player's best game among all games.
+     *
+     * @param playerId The ID of the player.
+     * @return The rank of the player's best game, starting at 1, or 0 if the player has no games.
+     */
+    public long playerRank(String playerId) {
+        Integer best = personalBests.get(playerId);
+        return best == null ? 0 : rank(best);
+    }
+
+    /**
+     * Returns the number of games recorded.
+     *
+     * @return The number of games.
+     */
+    public long size() {
+        long stamp = lock.tryOptimisticRead();
+        long size = total;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = total;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private long countAtMostLocked(int score) {
+        long stamp = lock.tryOptimisticRead();
+        long count = countAtMost(tree, base, score);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                count = countAtMost(tree, base, score);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return count;
+    }
+
+    // Prefix sum of the games scoring at most the score. Clamps every index, since an optimistic
+    // reader may see a tree and base from different versions before validation rejects the result.
+    private static long countAtMost(long[] tree, int base, int score) {
+        long index = (long) score - base + 1; // 1-based position of the score
+        if (index <= 0) {
+            return 0;
+        }
+        long count = 0;
+        for (int i = (int) Math.min(index, tree.length - 1); i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreLeaderboard{" +
+                "games=" + size() +
+                ", players=" + personalBests.size() +
+                '}';
+    }
+}
@@ -0,0 +1,109 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The ShuffledDeckScheduler deals phrases like a shuffled deck of cards: every phrase is drawn once
+ * before any phrase repeats, then the deck is reshuffled. The shuffle is a lazy Fisher-Yates over an
+ * index array, performing one swap per draw, so each draw is O(1) and the phrases themselves are never
+ * copied. The index array is also materialized lazily, so constructing a scheduler over a corpus of
+ * millions of phrases costs nothing until phrases are drawn.
+ */
+public class ShuffledDeckScheduler implements PhraseScheduler {
+
+    private final List<String> phrases; // Corpus to draw from, should support fast random access
+    private final Random random;
+    private final int size;             // Number of phrases in the deck
+    private int[] deck;                 // deck[i] - 1 is the phrase index at slot i, 0 means index i itself; null until the first draw
+    private int remaining;              // Number of undrawn slots in the current pass
+    private boolean firstPass = true;   // The first pass has no previous phrase to avoid
+
+    /**
+     * Constructs a ShuffledDeckScheduler over the given phrases with an unseeded random source.
+     *
+     * @param phrases The phrases to deal.
+     */
+    public ShuffledDeckScheduler(List<String> phrases) {
+        this(phrases, new Random());
+    }
+
+    /**
+     * Constructs a ShuffledDeckScheduler over the given phrases using the given random source.
+     *
+     * @param phrases The phrases to deal.
+     * @param random  The random source used to shuffle.
+     */
+    public ShuffledDeckScheduler(List<String> phrases, Random random) {
+        if (phrases.isEmpty()) {
+            throw new IllegalArgumentException("Cannot schedule an empty list of phrases");
+        }
+        this.phrases = phrases;
+        this.random = random;
+        this.size = phrases.size();
+        this.remaining = size;
+    }
+
+    /**
+     * Draws the next phrase from the deck, reshuffling when the deck is exhausted. The first phrase
+     * of a new pass is never the last phrase of the previous pass, so no phrase is seen twice in a row.
+     *
+     * @return The next phrase.
+     */
+    @Override
+    public synchronized String next() {
+        int first = 0;
+        if (deck == null) {
+            deck = new int[size]; // All zeros: every slot holds its own index
+        }
+        if (remaining == 0) {
+            remaining = deck.length;
+            firstPass = false;
+        }
+        if (!firstPass && remaining == deck.length && deck.length > 1) {
+            first = 1; // Slot 0 holds the phrase drawn last in the previous pass
+        }
+
+        int pick = first + random.nextInt(remaining - first);
+        int last = remaining - 1;
+        int chosen = slot(pick);
+        deck[pick] = slot(last) + 1; // Swap the chosen slot to the end of the undrawn part
+        deck[last] = chosen + 1;
+        remaining--;
+        return phrases.get(chosen);
+    }
+
+    /**
+     * Puts every phrase back in the deck in its original order, as if the scheduler were new, so one
+     * scheduler can be reused for several independently seeded runs without reallocating its deck.
+     */
+    public synchronized void restart() {
+        if (deck != null) {
+            Arrays.fill(deck, 0);
+        }
+        remaining = size;
+        firstPass = true;
+    }
+
+    /**
+     * Returns the number of phrases in the deck.
+     *
+     * @return The size of the corpus.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private int slot(int i) {
+        int value = deck[i];
+        return value == 0 ? i : value - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "ShuffledDeckScheduler{" +
+                "phrases=" + size +
+                ", remaining=" + remaining +
+                '}';
+    }
+}
@@ -0,0 +1,293 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The StatsServer serves the statistics of a live AllGamesRecord as JSON over HTTP, for dashboards:
+ *
+ * <ul>
+ *     <li>GET /stats: the number of games, the average score and the top games;</li>
+ *     <li>GET /players: every player's number of games and average score;</li>
+ *     <li>GET /players/{id}: one player's number of games, average score and top games.</li>
+ * </ul>
+ *
+ * <p>Requests never touch the record. They are answered from an immutable Snapshot holding every
+ * response body already encoded, which is rebuilt at most every refreshMillis milliseconds, and only
+ * if games were added. A rebuild folds just the games added since the previous one into a running
+ * GameSummary, copying them out of the record in small chunks, so the lock games are added under is
+ * only ever held briefly. One request at a time rebuilds; the others keep getting the previous
+ * snapshot instead of waiting.</p>
+ *
+ * <p>Every response carries the snapshot's version as its ETag, prefixed with a random tag of the
+ * server instance so that versions restarting at 0 after a restart never match an old ETag, and a
+ * request whose If-None-Match matches it gets an empty 304 Not Modified. Any other path, such as
+ * /playersX, which the server's prefix-matched contexts would otherwise accept, gets 404 Not Found.
+ * Requests run on virtual threads when the JVM has them, and on a pool of platform threads
+ * otherwise.</p>
+ */
+public class StatsServer implements AutoCloseable {
+
+    private static final int TOP_N = 10;        // Top games listed, overall and per player
+    private static final int COPY_CHUNK = 4096; // Records copied out of the record per lock acquisition
+
+    private final AllGamesRecord record;
+    private final long refreshMillis;           // Minimum time between two rebuilds
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final GameSummary summary = new GameSummary(TOP_N); // Only touched by the rebuilding thread
+    private final GameRecord[] chunk = new GameRecord[COPY_CHUNK]; // Only touched by the rebuilding thread
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final String instanceTag = Long.toHexString(new SecureRandom().nextLong()); // Tells ETags of other runs apart
+    private volatile Snapshot snapshot;
+    private int folded;                         // Records already folded into the summary
+
+    /**
+     * Constructs a StatsServer and starts listening.
+     *
+     * @param record        The record to serve.
+     * @param port          The port to listen on, or 0 for any free port.
+     * @param refreshMillis The minimum time between two rebuilds of the snapshot, in milliseconds.
+     * @throws IOException If the server cannot be started.
+     */
+    public StatsServer(AllGamesRecord record, int port, long refreshMillis) throws IOException {
+        this.record = record;
+        this.refreshMillis = refreshMillis;
+        this.snapshot = build(0);
+        this.executor = requestExecutor();
+        // Small responses otherwise wait out Nagle's algorithm against the client's delayed ACK, about 40 ms each;
+        // the JDK reads this once, when the first server of the JVM starts
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/stats", exchange -> {
+            Snapshot current = current();
+            serve(exchange, current, "/stats".equals(exchange.getRequestURI().getPath()) ? current.stats : null);
+        });
+        server.createContext("/players", exchange -> {
+            Snapshot current = current();
+            String path = exchange.getRequestURI().getPath();
+            byte[] body;
+            if (path.equals("/players") || path.equals("/players/")) {
+                body = current.players;
+            } else if (path.startsWith("/players/")) {
+                body = current.playerBodies.get(path.substring("/players/".length()));
+            } else {
+                body = null;
+            }
+            serve(exchange, current, body);
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    // Virtual threads when the JVM has them (Java 21 and up), found reflectively so this compiles on older JDKs
+    private static ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2), r -> {
+                Thread thread = new Thread(r, "wof-stats-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Returns the current snapshot, rebuilding it first if it is older than refreshMillis, games
+     * were added since, and no other thread is already rebuilding it.
+     *
+     * @return The snapshot to answer from.
+     */
+    Snapshot current() {
+        Snapshot current = snapshot;
+        long now = System.currentTimeMillis();
+        if (now - current.builtAt >= refreshMillis && record.size() != folded && rebuilding.compareAndSet(false, true)) {
+            try {
+                current = build(current.version + 1);
+                snapshot = current;
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+        return current;
+    }
+
+    // Folds the new records into the summary and encodes every response body
+    private Snapshot build(long version) {
+        int copied;
+        while ((copied = record.copyRecords(folded, chunk)) > 0) {
+            for (int i = 0; i < copied; i++) {
+                summary.add(chunk[i]);
+                chunk[i] = null;
+            }
+            folded += copied;
+        }
+
+        String etag = "\"" + instanceTag + "-" + version + "-" + summary.size() + "\"";
+        StringBuilder stats = new StringBuilder("{\"games\":").append(summary.size())
+                .append(",\"average\":").append(summary.average())
+                .append(",\"highGames\":");
+        appendGames(stats, summary.highGameList(TOP_N));
+
+        StringBuilder players = new StringBuilder("{\"players\":[");
+        Map<String, byte[]> playerBodies = new HashMap<>();
+        String separator = "";
+        for (String playerId : summary.playerIds()) {
+            String fields = "\"playerId\":\"" + RecordExporter.jsonString(playerId) + "\""
+                    + ",\"games\":" + summary.playerGames(playerId)
+                    + ",\"average\":" + summary.playerAverage(playerId);
+            players.append(separator).append('{').append(fields).append('}');
+            separator = ",";
+
+            StringBuilder player = new StringBuilder("{").append(fields).append(",\"highGames\":");
+            appendGames(player, summary.highGameList(playerId, TOP_N));
+            playerBodies.put(playerId, utf8(player.append('}')));
+        }
+        return new Snapshot(version, etag, System.currentTimeMillis(), utf8(stats.append('}')),
+                utf8(players.append("]}")), playerBodies);
+    }
+
+    private static void appendGames(StringBuilder json, List<GameRecord> games) {
+        json.append('[');
+        for (int i = 0; i < games.size(); i++) {
+            GameRecord game = games.get(i);
+            json.append(i > 0 ? "," : "")
+                    .append("{\"playerId\":\"").append(RecordExporter.jsonString(game.getPlayerId()))
+                    .append("\",\"score\":").append(game.getScore()).append('}');
+        }
+        json.append(']');
+    }
+
+    private static byte[] utf8(StringBuilder json) {
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Answers from one snapshot, so that the body always matches the ETag
+    private static void serve(HttpExchange exchange, Snapshot snapshot, byte[] body) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String etag = snapshot.etag;
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "StatsServer{" +
+                "port=" + getPort() +
+                ", refreshMillis=" + refreshMillis +
+                ", version=" + snapshot.version +
+                '}';
+    }
+
+    /**
+     * The encoded responses of one version of the statistics. Never modified once published.
+     */
+    static final class Snapshot {
+        private final long version;
+        private final String etag;
+        private final long builtAt;                   // System.currentTimeMillis when built
+        private final byte[] stats;                   // Body of /stats
+        private final byte[] players;                 // Body of /players
+        private final Map<String, byte[]> playerBodies; // Body of /players/{id}, by player ID
+
+        Snapshot(long version, String etag, long builtAt, byte[] stats, byte[] players, Map<String, byte[]> playerBodies) {
+            this.version = version;
+            this.etag = etag;
+            this.builtAt = builtAt;
+            this.stats = stats;
+            this.players = players;
+            this.playerBodies = Collections.unmodifiableMap(playerBodies);
+        }
+    }
+
+    /**
+     * Serves a record filled by a background simulation, as a demonstration.
+     * Usage: java StatsServer phrases.txt [port] [refreshMillis]
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If the phrase file cannot be read or the server cannot start.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java StatsServer phrases.txt [port] [refreshMillis]");
+            System.exit(2);
+        }
+        List<String> phrases = Phrases.read(java.nio.file.Paths.get(args[0]));
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        long refreshMillis = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+
+        AllGamesRecord record = new AllGamesRecord();
+        StatsServer server = new StatsServer(record, port, refreshMillis);
+        System.out.println(String.format(Locale.ROOT, "Serving http://localhost:%d/stats, /players and /players/{id}",
+                server.getPort()));
+
+        WheelOfFortuneAIGame game = new WheelOfFortuneAIGame(new ArrayList<>(), phrases);
+        game.setQuiet(true);
+        List<WheelOfFortunePlayer> players = new ArrayList<>();
+        for (String strategy : StrategyRegistry.deterministicNames()) {
+            players.add(StrategyRegistry.create(strategy, strategy));
+        }
+        for (long g = 0; ; g++) {
+            for (WheelOfFortunePlayer player : players) {
+                record.add(game.play(phrases.get((int) (g % phrases.size())), player));
+            }
+        }
+    }
+}
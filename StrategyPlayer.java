@@ -0,0 +1,152 @@
+import java.util.Objects;
+
+/**
+ * The StrategyPlayer class is a WheelOfFortunePlayer made of a shared, immutable GuessStrategy and
+ * its own small PlayerState. Resetting the player only clears that state, and any number of
+ * StrategyPlayers, on any number of threads, can share one strategy instance.
+ */
+public class StrategyPlayer implements WheelOfFortunePlayer {
+
+    private final String playerId;       // Unique identifier for the player
+    private final GuessStrategy strategy; // Shared, stateless guessing strategy
+    private final PlayerState state;      // Used letters, score and random stream of this player
+    private final boolean deterministic;  // Whether the strategy has a deterministic prefix
+
+    /**
+     * Constructs a StrategyPlayer with a randomly seeded state.
+     *
+     * @param playerId A unique identifier for this player.
+     * @param strategy The strategy choosing the player's guesses.
+     */
+    public StrategyPlayer(String playerId, GuessStrategy strategy) {
+        this(playerId, strategy, new PlayerState());
+    }
+
+    /**
+     * Constructs a StrategyPlayer with the given state, for example a seeded one.
+     *
+     * @param playerId A unique identifier for this player.
+     * @param strategy The strategy choosing the player's guesses.
+     * @param state    The player's state.
+     */
+    public StrategyPlayer(String playerId, GuessStrategy strategy, PlayerState state) {
+        this.playerId = playerId;
+        this.strategy = strategy;
+        this.state = state;
+        this.deterministic = strategy.deterministicPrefix().length > 0;
+    }
+
+    /**
+     * Determines the next letter to guess by asking the strategy.
+     *
+     * @return The next guessed letter.
+     */
+    @Override
+    public char nextGuess() {
+        return strategy.nextGuess(state);
+    }
+
+    /**
+     * Returns the unique player ID of this player.
+     *
+     * @return The player ID.
+     */
+    @Override
+    public String playerId() {
+        return playerId;
+    }
+
+    /**
+     * Resets the player for a new game by clearing its used letters and score.
+     */
+    @Override
+    public void reset() {
+        state.clear();
+    }
+
+    @Override
+    public int getScore() {
+        return state.getScore();
+    }
+
+    @Override
+    public void setScore(int score) {
+        state.setScore(score);
+    }
+
+    @Override
+    public void incrementScore() {
+        state.incrementScore();
+    }
+
+    @Override
+    public char[] deterministicPrefix() {
+        return strategy.deterministicPrefix();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    @Override
+    public String strategyFingerprint() {
+        return strategy.name() + ':' + new String(strategy.deterministicPrefix()); // Same-named strategies may differ in order
+    }
+
+    /**
+     * Returns the strategy choosing this player's guesses.
+     *
+     * @return The strategy.
+     */
+    public GuessStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns this player's per-game state.
+     *
+     * @return The state.
+     */
+    public PlayerState getState() {
+        return state;
+    }
+
+    /**
+     * Provides a string representation of the player, including its ID, strategy and state.
+     *
+     * @return String representation of the player.
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "playerId='" + playerId + '\'' +
+                ", strategy=" + strategy.name() +
+                ", state=" + state +
+                '}';
+    }
+
+    /**
+     * Compares this player to another object for equality based on the player ID, strategy and state.
+     *
+     * @param o The object to compare with.
+     * @return true if this instance is equal to the specified object, otherwise false.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StrategyPlayer that = (StrategyPlayer) o;
+        return Objects.equals(playerId, that.playerId) && Objects.equals(strategy, that.strategy) && Objects.equals(state, that.state);
+    }
+
+    /**
+     * Returns a hash code for this player.
+     *
+     * @return The hash code for this instance.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(playerId, strategy, state);
+    }
+}
@@ -0,0 +1,100 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The StrategyRegistry maps short strategy names to factories for the AI players implementing them,
+ * so that batch tools can be told which strategies to run by name. The built-in AI players are
+ * registered as "smart", "mediocre", "dumb" and "learning"; further strategies can be added with register.
+ * Tools that run "every strategy" by default use deterministicNames, which leaves out strategies whose
+ * results depend on more than the seed, such as "learning" with its JVM-wide model.
+ */
+public final class StrategyRegistry {
+
+    private static final Map<String, Function<String, WheelOfFortunePlayer>> FACTORIES = new LinkedHashMap<>();
+    private static final Set<String> NONDETERMINISTIC = new HashSet<>(); // Strategies left out of deterministicNames
+
+    static {
+        register("smart", AIPlayer::new);
+        register("mediocre", AIPlayerMediocre::new);
+        register("dumb", AIPlayerDumb::new);
+        register("learning", LearningPlayer::new, false); // Trains a model shared across games and threads
+    }
+
+    private StrategyRegistry() {
+        // Static registry only
+    }
+
+    /**
+     * Registers a strategy under a name, replacing any strategy already registered under it.
+     *
+     * @param name    The name of the strategy.
+     * @param factory Function creating a new player of this strategy from a player ID.
+     */
+    public static void register(String name, Function<String, WheelOfFortunePlayer> factory) {
+        register(name, factory, true);
+    }
+
+    /**
+     * Registers a strategy under a name, replacing any strategy already registered under it.
+     *
+     * @param name          The name of the strategy.
+     * @param factory       Function creating a new player of this strategy from a player ID.
+     * @param deterministic Whether the strategy's games depend only on the seed of the player's state,
+     *                      and not on other games, thread interleaving or earlier runs.
+     */
+    public static synchronized void register(String name, Function<String, WheelOfFortunePlayer> factory, boolean deterministic) {
+        FACTORIES.put(name, factory);
+        if (deterministic) {
+            NONDETERMINISTIC.remove(name);
+        } else {
+            NONDETERMINISTIC.add(name);
+        }
+    }
+
+    /**
+     * Creates a new player for the named strategy.
+     *
+     * @param name     The name of the strategy.
+     * @param playerId The ID to give the new player.
+     * @return A new player using the strategy.
+     * @throws IllegalArgumentException If no strategy is registered under the name.
+     */
+    public static synchronized WheelOfFortunePlayer create(String name, String playerId) {
+        Function<String, WheelOfFortunePlayer> factory = FACTORIES.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown strategy: " + name + ". Known strategies: " + FACTORIES.keySet());
+        }
+        return factory.apply(playerId);
+    }
+
+    /**
+     * Returns the names of all registered strategies, in registration order.
+     *
+     * @return The registered strategy names.
+     */
+    public static synchronized List<String> names() {
+        return new ArrayList<>(FACTORIES.keySet());
+    }
+
+    /**
+     * Returns the names of the registered strategies whose games depend only on their seed, in
+     * registration order. These are the default strategy set of the batch tools, so that their
+     * results are reproducible.
+     *
+     * @return The deterministic strategy names.
+     */
+    public static synchronized List<String> deterministicNames() {
+        List<String> names = new ArrayList<>();
+        for (String name : FACTORIES.keySet()) {
+            if (!NONDETERMINISTIC.contains(name)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+}
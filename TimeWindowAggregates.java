@@ -0,0 +1,344 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The TimeWindowAggregates class answers windowed questions about recent games, such as the average
+ * score in the last hour or the number of games per minute, without scanning the games. Games are
+ * counted, by the time they ended, into per-minute and per-hour buckets holding a count, a score sum
+ * and a score histogram, kept globally and per player. The buckets of each resolution live in a ring:
+ * when time moves past the ring's retention, the oldest bucket is reused for the newest, so old data
+ * is dropped without any cleanup pass. Buckets are only allocated for the minutes and hours a player
+ * actually played in, so the many players of a large record who each played briefly stay cheap. A query adds up the buckets covering its window, in
+ * O(window buckets) time.
+ *
+ * <p>Windows are rounded out to whole buckets. A window starting within the minute retention, such
+ * as the last hour with the default retention, is summed from minute buckets alone. A longer window
+ * is summed from hour buckets up to the first hour boundary within the minute retention and from
+ * minute buckets after it, so only its start is rounded out, down to the hour. Games older than the
+ * retention of both rings are ignored.</p>
+ *
+ * <p>This class is not thread-safe; AllGamesRecord guards it with its own lock.</p>
+ */
+public class TimeWindowAggregates {
+
+    /**
+     * Number of histogram buckets. Scores from HISTOGRAM_BUCKETS - 1 up share the last bucket.
+     */
+    public static final int HISTOGRAM_BUCKETS = GameSummary.HISTOGRAM_BUCKETS;
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private final int minutes;                                    // Minute buckets kept
+    private final int hours;                                      // Hour buckets kept
+    private final Rings global;
+    private final Map<String, Rings> players = new HashMap<>();
+    private long latestMillis = Long.MIN_VALUE;                   // Latest game end seen
+    private long sweptHour = Long.MIN_VALUE;                      // Hour of the last sweep of idle players
+
+    /**
+     * Constructs TimeWindowAggregates keeping one hour of minute buckets and two days of hour buckets.
+     */
+    public TimeWindowAggregates() {
+        this(60, 48);
+    }
+
+    /**
+     * Constructs TimeWindowAggregates with the given retention.
+     *
+     * @param minutes The number of minutes before the latest game summed at minute resolution.
+     * @param hours   The number of hour buckets kept.
+     */
+    public TimeWindowAggregates(int minutes, int hours) {
+        if (minutes <= 0 || hours <= 0) {
+            throw new IllegalArgumentException("Retention must be positive: " + minutes + " minutes, " + hours + " hours");
+        }
+        this.minutes = minutes;
+        this.hours = hours;
+        this.global = new Rings(minutes, hours);
+    }
+
+    /**
+     * Counts a game into the buckets of the minute and hour it ended in.
+     *
+     * @param gameRecord The game.
+     */
+    public void add(GameRecord gameRecord) {
+        long time = gameRecord.getEndMillis();
+        latestMillis = Math.max(latestMillis, time);
+        global.add(time, gameRecord.getScore());
+        Rings rings = players.get(gameRecord.getPlayerId()); // No capturing lambda on this hot path
+        if (rings == null) {
+            rings = new Rings(minutes, hours);
+            players.put(gameRecord.getPlayerId(), rings);
+        }
+        rings.add(time, gameRecord.getScore());
+
+        long hour = Math.floorDiv(latestMillis, HOUR);
+        if (hour != sweptHour) {
+            sweptHour = hour;
+            dropIdlePlayers();
+        }
+    }
+
+    // Drops the players whose every bucket is past retention, so players who stopped playing cost nothing
+    private void dropIdlePlayers() {
+        for (Iterator<Rings> it = players.values().iterator(); it.hasNext(); ) {
+            if (it.next().hourRing.isExpired(latestMillis)) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Sums the games that ended in the given window.
+     *
+     * @param fromMillis The start of the window, inclusive, in milliseconds since the epoch.
+     * @param toMillis   The end of the window, exclusive, in milliseconds since the epoch.
+     * @return The aggregate of the games in the window, rounded out to whole buckets.
+     */
+    public WindowStats window(long fromMillis, long toMillis) {
+        return global.window(fromMillis, toMillis, latestMillis);
+    }
+
+    /**
+     * Sums a player's games that ended in the given window.
+     *
+     * @param playerId   The ID of the player.
+     * @param fromMillis The start of the window, inclusive, in milliseconds since the epoch.
+     * @param toMillis   The end of the window, exclusive, in milliseconds since the epoch.
+     * @return The aggregate of the player's games in the window, rounded out to whole buckets.
+     */
+    public WindowStats window(String playerId, long fromMillis, long toMillis) {
+        Rings rings = players.get(playerId);
+        return rings == null ? new WindowStats() : rings.window(fromMillis, toMillis, latestMillis);
+    }
+
+    /**
+     * Returns the number of players with games within the retention.
+     *
+     * @return The number of players tracked.
+     */
+    public int playerCount() {
+        return players.size();
+    }
+
+    @Override
+    public String toString() {
+        return "TimeWindowAggregates{" +
+                "minutes=" + minutes +
+                ", hours=" + hours +
+                ", players=" + players.size() +
+                '}';
+    }
+
+    /**
+     * The minute and hour rings of the global aggregate or of one player.
+     */
+    private static final class Rings {
+        private final Ring minuteRing;
+        private final Ring hourRing;
+
+        Rings(int minutes, int hours) {
+            // A window of that many minutes touches one more bucket: the partial minutes at both its ends
+            this.minuteRing = new Ring(MINUTE, minutes + 1);
+            this.hourRing = new Ring(HOUR, hours);
+        }
+
+        void add(long time, int score) {
+            minuteRing.add(time, score);
+            hourRing.add(time, score);
+        }
+
+        WindowStats window(long fromMillis, long toMillis, long latestMillis) {
+            WindowStats stats = new WindowStats();
+            if (toMillis <= fromMillis) {
+                return stats;
+            }
+            if (minuteRing.covers(fromMillis, latestMillis)) {
+                minuteRing.sum(stats, fromMillis, toMillis, latestMillis);
+                return stats;
+            }
+            // Whole hours up to the first hour boundary the minute buckets still cover, minutes after it
+            long split = (Math.floorDiv(minuteRing.oldestMillis(latestMillis) - 1, HOUR) + 1) * HOUR;
+            hourRing.sum(stats, fromMillis, Math.min(split, toMillis), latestMillis);
+            if (split < toMillis) {
+                minuteRing.sum(stats, split, toMillis, latestMillis);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * A ring of buckets of one width. Slot i holds the bucket whose number (time / width) is
+     * congruent to i, and the bucket remembers that number so one left over from an earlier lap is
+     * ignored. Buckets are allocated on the first game of their slot, so a player who only played
+     * for a few minutes costs a few buckets rather than a whole ring of them.
+     */
+    private static final class Ring {
+        private final long width;         // Bucket width in milliseconds
+        private final Bucket[] slots;     // Bucket of each slot, null until a game falls into it
+        private long newestId = Long.MIN_VALUE;
+
+        Ring(long width, int size) {
+            this.width = width;
+            this.slots = new Bucket[size];
+        }
+
+        void add(long time, int score) {
+            long id = Math.floorDiv(time, width);
+            if (newestId != Long.MIN_VALUE && id <= newestId - slots.length) {
+                return; // Already past retention
+            }
+            newestId = Math.max(newestId, id);
+            int slot = (int) Math.floorMod(id, (long) slots.length);
+            Bucket bucket = slots[slot];
+            if (bucket == null) {
+                bucket = new Bucket(id);
+                slots[slot] = bucket;
+            } else if (bucket.id != id) {
+                bucket.reuse(id); // The slot holds a bucket from an earlier lap: it is past retention
+            }
+            bucket.count++;
+            bucket.sum += score;
+            bucket.histogram[Math.max(0, Math.min(score, HISTOGRAM_BUCKETS - 1))]++;
+        }
+
+        // Whether the bucket holding fromMillis is still within the retention of the ring
+        boolean covers(long fromMillis, long latestMillis) {
+            return Math.floorDiv(fromMillis, width) > Math.floorDiv(latestMillis, width) - slots.length;
+        }
+
+        // Start of the oldest bucket still within the retention of the ring
+        long oldestMillis(long latestMillis) {
+            return (Math.floorDiv(latestMillis, width) - slots.length + 1) * width;
+        }
+
+        boolean isExpired(long latestMillis) {
+            return newestId <= Math.floorDiv(latestMillis, width) - slots.length;
+        }
+
+        // Adds the buckets overlapping [fromMillis, toMillis) within the retention to the stats
+        void sum(WindowStats stats, long fromMillis, long toMillis, long latestMillis) {
+            if (newestId == Long.MIN_VALUE) {
+                return;
+            }
+            long first = Math.max(Math.floorDiv(fromMillis, width), Math.floorDiv(latestMillis, width) - slots.length + 1);
+            long last = Math.min(Math.floorDiv(toMillis - 1, width), newestId);
+            if (first > last) {
+                return;
+            }
+            // No game ended after latestMillis, so the newest bucket's data stops there or at the window's end
+            stats.cover(first * width, Math.max(toMillis, Math.min((last + 1) * width, latestMillis + 1)));
+            for (long id = first; id <= last; id++) {
+                Bucket bucket = slots[(int) Math.floorMod(id, (long) slots.length)];
+                if (bucket != null && bucket.id == id) {
+                    stats.add(bucket.count, bucket.sum, bucket.histogram);
+                }
+            }
+        }
+    }
+
+    /**
+     * The games of one bucket: their count, score sum and score histogram.
+     */
+    private static final class Bucket {
+        private final long[] histogram = new long[HISTOGRAM_BUCKETS];
+        private long id;                  // Bucket number, time / width
+        private long count;
+        private long sum;
+
+        Bucket(long id) {
+            this.id = id;
+        }
+
+        void reuse(long id) {
+            this.id = id;
+            count = 0;
+            sum = 0;
+            Arrays.fill(histogram, 0);
+        }
+    }
+
+    /**
+     * The aggregate of the games in a window: their count, score sum and score histogram.
+     */
+    public static final class WindowStats {
+        private final long[] histogram = new long[HISTOGRAM_BUCKETS];
+        private long count;
+        private long sum;
+        private long summedFrom = Long.MAX_VALUE; // Start of the buckets summed, the window's start rounded out
+        private long summedTo = Long.MIN_VALUE;   // End of the buckets summed
+
+        void cover(long from, long to) {
+            summedFrom = Math.min(summedFrom, from);
+            summedTo = Math.max(summedTo, to);
+        }
+
+        void add(long count, long sum, long[] histogram) {
+            this.count += count;
+            this.sum += sum;
+            for (int b = 0; b < HISTOGRAM_BUCKETS; b++) {
+                this.histogram[b] += histogram[b];
+            }
+        }
+
+        /**
+         * Returns the number of games in the window.
+         *
+         * @return The number of games.
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * Returns the sum of the scores of the games in the window.
+         *
+         * @return The score sum.
+         */
+        public long sum() {
+            return sum;
+        }
+
+        /**
+         * Returns the average score of the games in the window.
+         *
+         * @return The average score, or 0 if there are no games.
+         */
+        public double average() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Returns the number of games per minute over the time actually summed, which is the window
+         * rounded out to whole buckets, up to the window's end or the latest game, whichever is later.
+         *
+         * @return The game rate, or 0 if there are no games.
+         */
+        public double gamesPerMinute() {
+            return count == 0 ? 0 : (double) count * MINUTE / (summedTo - summedFrom);
+        }
+
+        /**
+         * Returns the number of games in the window that fall in each score bucket.
+         *
+         * @return A copy of the histogram.
+         */
+        public long[] histogram() {
+            return histogram.clone();
+        }
+
+        @Override
+        public String toString() {
+            return "WindowStats{" +
+                    "count=" + count +
+                    ", average=" + String.format("%.2f", average()) +
+                    ", gamesPerMinute=" + String.format("%.1f", gamesPerMinute()) +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,45 @@
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The VectorLetterMatcher compares the folded phrase with the letter a whole vector register at a
+ * time and walks the set bits of the resulting mask to reveal the matches. It needs the incubating
+ * jdk.incubator.vector module, both to compile and to run; LetterMatcher.preferred only loads it when
+ * the module is present. Species wider than 64 lanes, such as a 2048-bit SVE register, are capped at
+ * 64 lanes, the most a mask fits in a long.
+ */
+public final class VectorLetterMatcher implements LetterMatcher {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED.length() > Long.SIZE
+            ? ByteVector.SPECIES_512 // 64 lanes; VectorMask.toLong throws for wider species
+            : ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    public int reveal(byte[] folded, byte letter, String phrase, StringBuilder hiddenPhrase) {
+        int revealed = 0;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(folded.length); i < bound; i += SPECIES.length()) {
+            long matches = ByteVector.fromArray(SPECIES, folded, i).eq(letter).toLong();
+            revealed += Long.bitCount(matches);
+            while (matches != 0) {
+                int position = i + Long.numberOfTrailingZeros(matches);
+                hiddenPhrase.setCharAt(position, phrase.charAt(position)); // Reveal the letter
+                matches &= matches - 1;
+            }
+        }
+        for (; i < folded.length; i++) { // Tail shorter than a vector
+            if (folded[i] == letter) {
+                hiddenPhrase.setCharAt(i, phrase.charAt(i));
+                revealed++;
+            }
+        }
+        return revealed;
+    }
+
+    @Override
+    public String toString() {
+        return "VectorLetterMatcher{" +
+                "lanes=" + SPECIES.length() +
+                '}';
+    }
+}
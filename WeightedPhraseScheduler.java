@@ -0,0 +1,138 @@
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The WeightedPhraseScheduler draws phrases with replacement, each phrase with a probability
+ * proportional to its weight. Weights can bias play toward hard phrases, a category, or anything else
+ * the caller can score. Draws use Vose's alias method: building the table is O(n) and every draw is
+ * O(1), regardless of how many phrases the corpus holds.
+ */
+public class WeightedPhraseScheduler implements PhraseScheduler {
+
+    private final List<String> phrases; // Corpus to draw from, should support fast random access
+    private final Random random;
+    private final double[] probability; // Probability of keeping slot i rather than taking its alias
+    private final int[] alias;          // Alternative phrase index for slot i
+
+    /**
+     * Constructs a WeightedPhraseScheduler with an unseeded random source.
+     *
+     * @param phrases The phrases to draw from.
+     * @param weights The non-negative weight of each phrase, in the same order as the phrases.
+     */
+    public WeightedPhraseScheduler(List<String> phrases, double[] weights) {
+        this(phrases, weights, new Random());
+    }
+
+    /**
+     * Constructs a WeightedPhraseScheduler using the given random source.
+     *
+     * @param phrases The phrases to draw from.
+     * @param weights The non-negative weight of each phrase, in the same order as the phrases.
+     * @param random  The random source used for draws.
+     */
+    public WeightedPhraseScheduler(List<String> phrases, double[] weights, Random random) {
+        int n = phrases.size();
+        if (n == 0 || weights.length != n) {
+            throw new IllegalArgumentException("Need one weight per phrase and at least one phrase");
+        }
+        this.phrases = phrases;
+        this.random = random;
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be finite and non-negative: " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+
+        // Scale weights so the average is 1, then pair each under-full slot with an over-full one
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            probability[i] = weights[i] * n / total;
+            if (probability[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            alias[less] = more;
+            probability[more] = (probability[more] + probability[less]) - 1.0;
+            if (probability[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left over is full up to rounding error
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+    }
+
+    /**
+     * Creates a WeightedPhraseScheduler whose weights are computed from the phrases themselves,
+     * for example from a difficulty score or a category lookup.
+     *
+     * @param phrases The phrases to draw from.
+     * @param weigher Function returning the non-negative weight of a phrase.
+     * @param random  The random source used for draws.
+     * @return The weighted scheduler.
+     */
+    public static WeightedPhraseScheduler byWeight(List<String> phrases, ToDoubleFunction<String> weigher, Random random) {
+        double[] weights = new double[phrases.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = weigher.applyAsDouble(phrases.get(i));
+        }
+        return new WeightedPhraseScheduler(phrases, weights, random);
+    }
+
+    /**
+     * Draws a phrase with probability proportional to its weight.
+     *
+     * @return The drawn phrase.
+     */
+    @Override
+    public String next() {
+        int slot;
+        double coin;
+        synchronized (random) {
+            slot = random.nextInt(probability.length);
+            coin = random.nextDouble();
+        }
+        return phrases.get(coin < probability[slot] ? slot : alias[slot]);
+    }
+
+    /**
+     * Returns the number of phrases the scheduler draws from.
+     *
+     * @return The size of the corpus.
+     */
+    @Override
+    public int size() {
+        return probability.length;
+    }
+
+    @Override
+    public String toString() {
+        return "WeightedPhraseScheduler{" +
+                "phrases=" + probability.length +
+                '}';
+    }
+}
@@ -7,33 +7,60 @@ import java.util.*;
 public abstract class WheelOfFortune extends GuessingGame {
 
     protected List<String> phrases; // List of possible phrases for the game
-    protected String phrase; // The current phrase to guess
+    protected String phrase; // The current phrase to guess, null until the first game starts
     protected StringBuilder hiddenPhrase; // The masked version of the phrase with unrevealed letters as '*'
     protected StringBuilder usedLetters; // Keeps track of letters guessed by the player
     protected int numGuesses; // Number of guesses remaining for the player
+    protected PhraseScheduler phraseScheduler; // Decides which phrase is played next
+
+    private static final int FOLDED_MATCH_MIN_LENGTH = 64;          // Phrase length from which guesses use the LetterMatcher
+    private static final LetterMatcher MATCHER = LetterMatcher.preferred();
+    private String foldedPhraseSource; // Phrase that foldedPhrase was built from
+    private byte[] foldedPhrase;       // Case-folded bytes of a long phrase, or null if it is not ASCII
 
     /**
      * Constructor for initializing a WheelOfFortune game with a list of phrases and a specific number of attempts.
+     * Phrases are dealt from a shuffled deck, so no phrase repeats until all of them have been played.
      *
      * @param phrases List of phrases to use in the game.
      * @param attempts Number of attempts allowed in the game.
      */
     public WheelOfFortune(List<String> phrases, int attempts) {
+        this(phrases, attempts, null);
+    }
+
+    /**
+     * Constructor for initializing a WheelOfFortune game that draws its phrases from the given scheduler.
+     *
+     * @param phrases List of phrases to use in the game.
+     * @param attempts Number of attempts allowed in the game.
+     * @param phraseScheduler Scheduler choosing the next phrase, or null to deal the phrases from a shuffled deck.
+     */
+    public WheelOfFortune(List<String> phrases, int attempts, PhraseScheduler phraseScheduler) {
         super(attempts); // Pass attempts to the GuessingGame constructor
         this.phrases = new ArrayList<>(phrases); // Initialize the list of phrases
+        this.phraseScheduler = phraseScheduler != null ? phraseScheduler : new ShuffledDeckScheduler(this.phrases);
         this.numGuesses = attempts; // Set the number of guesses
         this.usedLetters = new StringBuilder(); // Initialize used letters
-        generateSecretCode(); // Generate the initial secret code (phrase)
+        // No phrase is drawn yet: the first game draws it, so every phrase of the first pass is played
     }
 
     /**
-     * Generates the secret code for the game, which is a random phrase from the list.
+     * Returns the phrases of the game.
+     *
+     * @return The list of phrases.
+     */
+    protected List<String> phrases() {
+        return phrases;
+    }
+
+    /**
+     * Generates the secret code for the game, which is the next phrase drawn from the phrase scheduler.
      * It also sets up the hidden version of the phrase.
      */
     @Override
     public void generateSecretCode() {
-        Random random = new Random();
-        this.phrase = phrases.get(random.nextInt(phrases.size())); // Select a random phrase
+        this.phrase = phraseScheduler.next(); // Draw the next phrase
         this.hiddenPhrase = generateHiddenPhrase(this.phrase); // Generate hidden version of the phrase
     }
 
@@ -70,7 +97,7 @@ public abstract class WheelOfFortune extends GuessingGame {
     @Override
     public String toString() {
         return "WheelOfFortune{" +
-                "phrases=" + phrases +
+                "phrases=" + phrases() +
                 ", phrase='" + phrase + '\'' +
                 ", hiddenPhrase=" + hiddenPhrase +
                 ", usedLetters=" + usedLetters +
@@ -84,12 +111,12 @@ public abstract class WheelOfFortune extends GuessingGame {
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         WheelOfFortune that = (WheelOfFortune) o;
-        return numGuesses == that.numGuesses && Objects.equals(phrases, that.phrases) && Objects.equals(phrase, that.phrase) && Objects.equals(hiddenPhrase, that.hiddenPhrase) && Objects.equals(usedLetters, that.usedLetters);
+        return numGuesses == that.numGuesses && Objects.equals(phrases(), that.phrases()) && Objects.equals(phrase, that.phrase) && Objects.equals(hiddenPhrase, that.hiddenPhrase) && Objects.equals(usedLetters, that.usedLetters);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), phrases, phrase, hiddenPhrase, usedLetters, numGuesses);
+        return Objects.hash(super.hashCode(), phrases(), phrase, hiddenPhrase, usedLetters, numGuesses);
     }
 
     /**
@@ -101,52 +128,132 @@ public abstract class WheelOfFortune extends GuessingGame {
     protected abstract List<String> getGuess();
 
     /**
-     * Provides feedback by updating the hidden phrase if the guessed letter is in the phrase.
+     * Encodes a guess into its guess code, which is simply the guessed letter.
      *
-     * @param guess The player's guess as a List of Strings.
-     * @return Feedback message showing the current state of the hidden phrase.
+     * @param guess The player's guess as a List containing a single letter string.
+     * @return The guessed letter as a guess code.
      */
     @Override
-    public String getFeedback(List<String> guess) {
-        String guessedLetter = guess.get(0);
-        boolean found = false;
+    protected int encodeGuess(List<String> guess) {
+        return guess.get(0).charAt(0);
+    }
 
+    /**
+     * Applies a guessed letter: reveals it in the hidden phrase, or uses up a guess if it is not
+     * in the phrase.
+     *
+     * @param guessCode The guessed letter.
+     * @return The number of positions revealed, 0 for a miss.
+     */
+    @Override
+    protected int scoreGuess(int guessCode) {
+        int revealed = reveal((char) guessCode);
+        if (revealed == 0) {
+            numGuesses--;
+        }
+        return revealed;
+    }
+
+    /**
+     * Reveals every occurrence of the letter in the hidden phrase, ignoring case. Long ASCII phrases,
+     * such as multi-sentence bonus round puzzles, are matched by the LetterMatcher on their folded bytes.
+     *
+     * @param letter The guessed letter.
+     * @return The number of positions revealed, 0 if the letter is not in the phrase.
+     */
+    protected int reveal(char letter) {
+        char lower = Character.toLowerCase(letter);
+        if (phrase.length() >= FOLDED_MATCH_MIN_LENGTH && lower < 0x80) {
+            if (foldedPhraseSource != phrase) { // Fold each long phrase once, on its first guess
+                foldedPhrase = LetterMatcher.fold(phrase);
+                foldedPhraseSource = phrase;
+            }
+            if (foldedPhrase != null) {
+                return MATCHER.reveal(foldedPhrase, (byte) lower, phrase, hiddenPhrase);
+            }
+        }
+        int revealed = 0;
         for (int i = 0; i < phrase.length(); i++) {
-            if (String.valueOf(phrase.charAt(i)).equalsIgnoreCase(guessedLetter)) {
-                hiddenPhrase.setCharAt(i, phrase.charAt(i));
-                found = true;
+            if (Character.toLowerCase(phrase.charAt(i)) == lower) {
+                hiddenPhrase.setCharAt(i, phrase.charAt(i)); // Reveal the letter
+                revealed++;
             }
         }
+        return revealed;
+    }
 
-        if (found) {
+    /**
+     * Describes the feedback of a guess, showing the current state of the hidden phrase.
+     *
+     * @param feedback The number of positions revealed by the guess.
+     * @return Feedback message for the player.
+     */
+    @Override
+    protected String describeFeedback(int feedback) {
+        if (feedback > 0) {
             return "Good guess! Current phrase: " + hiddenPhrase;
         } else {
-            numGuesses--;
             return "Sorry, that letter is not in the phrase. Guesses remaining: " + numGuesses;
         }
     }
 
     /**
-     * Plays a single game of Wheel of Fortune.
+     * Checks whether the phrase is fully revealed; the guess itself does not matter.
      *
-     * @return GameRecord of the game with the player's final score and ID.
+     * @param guessCode The guessed letter.
+     * @return true if the hidden phrase is fully revealed, otherwise false.
      */
     @Override
-    public GameRecord play() {
-        generateSecretCode(); // Generate a new secret code (phrase) for the game
-        while (numGuesses > 0 && !isWinningGuess(null)) {
-            List<String> guess = getGuess();
-            String feedback = getFeedback(guess);
-            System.out.println(feedback);
-
-            if (isWinningGuess(guess)) {
-                System.out.println("Congratulations! You've guessed the full phrase: " + phrase);
-                return new GameRecord(numGuesses, "Player");
-            }
+    protected boolean isWinningCode(int guessCode) {
+        return hiddenPhrase.indexOf("*") == -1;
+    }
+
+    /**
+     * Emits a GameStarted flight recorder event for the current phrase if the event is enabled.
+     *
+     * @param playerId The ID of the player starting the game.
+     */
+    protected void recordGameStarted(String playerId) {
+        GameJfrEvents.GameStarted started = new GameJfrEvents.GameStarted();
+        if (started.shouldCommit()) {
+            started.game = getClass().getSimpleName();
+            started.playerId = playerId;
+            started.phraseLength = phrase.length();
+            started.commit();
         }
+    }
 
-        System.out.println("Game over! The phrase was: " + phrase);
-        return new GameRecord(0, "Player"); // If player fails, return a score of 0
+    /**
+     * Completes a GuessMade flight recorder event that was started at the beginning of the turn.
+     *
+     * @param guessEvent The event begun when the turn started.
+     * @param playerId   The ID of the player who guessed.
+     * @param letter     The guessed letter.
+     * @param hit        Whether the letter is in the phrase.
+     */
+    protected void recordGuess(GameJfrEvents.GuessMade guessEvent, String playerId, char letter, boolean hit) {
+        if (guessEvent.shouldCommit()) {
+            guessEvent.playerId = playerId;
+            guessEvent.guess = String.valueOf(letter);
+            guessEvent.hit = hit;
+            guessEvent.commit();
+        }
+    }
+
+    /**
+     * Completes a GameEnded flight recorder event that was started at the beginning of the game.
+     *
+     * @param ended    The event begun when the game started.
+     * @param playerId The ID of the player who played the game.
+     * @param score    The final score of the game.
+     */
+    protected void recordGameEnded(GameJfrEvents.GameEnded ended, String playerId, int score) {
+        if (ended.shouldCommit()) {
+            ended.playerId = playerId;
+            ended.score = score;
+            ended.misses = attempts - numGuesses;
+            ended.commit();
+        }
     }
 
     @Override
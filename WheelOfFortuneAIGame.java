@@ -9,9 +9,13 @@ import java.util.*;
 public class WheelOfFortuneAIGame extends WheelOfFortune {
 
     private List<WheelOfFortunePlayer> aiPlayers; // List of AI players
-    private List<String> remainingPhrases;        // Copy of phrases to track phrases for each game
+    private List<String> remainingPhrases;        // Copy of phrases to track phrases for each game, null over a corpus
     private WheelOfFortunePlayer currentPlayer;   // Field to store the current AI player
     private Set<Character> guessedLetters;        // Track guessed letters
+    private GameEventPublisher eventPublisher;    // Optional stream of per-guess and per-game events
+    private OutcomeCache outcomeCache;            // Optional memoized outcomes for deterministic players
+    private PhraseCorpus corpus;                  // Optional reloadable corpus, whose current phrases each playAll uses
+    private MoveDeadline moveDeadline;            // Optional time limit on the moves of AnytimePlayers
 
     /**
      * Constructs a WheelOfFortuneAIGame with a specified list of AI players and game phrases.
@@ -26,6 +30,21 @@ public class WheelOfFortuneAIGame extends WheelOfFortune {
         this.guessedLetters = new HashSet<>(); // Initialize set for guessed letters
     }
 
+    /**
+     * Constructs a WheelOfFortuneAIGame over a reloadable corpus. Each call to playAll plays the
+     * snapshot that is current when it starts, and single games draw from the current snapshot, so a
+     * reload is picked up by the next games without disturbing the ones in progress.
+     *
+     * @param players List of AI players.
+     * @param corpus  The corpus the phrases are taken from.
+     */
+    public WheelOfFortuneAIGame(List<WheelOfFortunePlayer> players, PhraseCorpus corpus) {
+        super(Collections.emptyList(), 10, new CorpusScheduler(corpus)); // The phrases are the corpus's current ones, never copied
+        this.aiPlayers = players;
+        this.guessedLetters = new HashSet<>(); // Initialize set for guessed letters
+        this.corpus = corpus;
+    }
+
     /**
      * Plays all games, with each AI player playing each phrase once and recording the results.
      *
@@ -34,19 +53,67 @@ public class WheelOfFortuneAIGame extends WheelOfFortune {
      */
     @Override
     public AllGamesRecord playAll(AllGamesRecord record) {
+        List<String> phrases = phrases(); // Pinned for the whole run
         for (String phrase : phrases) {
             for (WheelOfFortunePlayer aiPlayer : aiPlayers) {
                 this.currentPlayer = aiPlayer;               // Set the current AI player
                 this.phrase = phrase;                         // Set the current phrase
                 this.hiddenPhrase = generateHiddenPhrase(phrase); // Set the hidden version of the phrase
-                GameRecord gameRecord = play();               // Play a game with the current AI player and current phrase
+                GameRecord gameRecord;
+                if (outcomeCache != null && aiPlayer.isDeterministic()) {
+                    gameRecord = outcomeCache.play(aiPlayer, phrase, attempts); // Replay the memoized prefix
+                } else {
+                    gameRecord = play();                      // Play a game with the current AI player and current phrase
+                }
                 record.add(gameRecord);                       // Add the game record to AllGamesRecord
                 resetGameState();                             // Reset game state for the next game
             }
         }
+        if (eventPublisher != null) {
+            eventPublisher.flush(); // Deliver the last partial batch of events
+        }
         return record; // Return the record of all games played
     }
 
+    /**
+     * Returns the phrases of the game: over a corpus, those of its current snapshot.
+     *
+     * @return The list of phrases.
+     */
+    @Override
+    protected List<String> phrases() {
+        return corpus != null ? corpus.current().phrases() : phrases;
+    }
+
+    /**
+     * Sets the cache used to memoize games of deterministic players. Memoized games are not narrated
+     * on the console and do not produce per-guess events.
+     *
+     * @param outcomeCache The cache to use, or null to play every game in full.
+     */
+    public void setOutcomeCache(OutcomeCache outcomeCache) {
+        this.outcomeCache = outcomeCache;
+    }
+
+    /**
+     * Sets the deadline that bounds each move of an AnytimePlayer. The moves of other players are
+     * not affected.
+     *
+     * @param moveDeadline The deadline to move AnytimePlayers under, or null to call their nextGuess.
+     */
+    public void setMoveDeadline(MoveDeadline moveDeadline) {
+        this.moveDeadline = moveDeadline;
+    }
+
+    /**
+     * Sets the publisher that receives an event for every guess and every finished game.
+     *
+     * @param eventPublisher The publisher to stream events to, or null to stop streaming.
+     */
+    public void setEventPublisher(GameEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
     /**
      * Plays a single game of Wheel of Fortune for the current AI player, allowing them to
      * make guesses until the game ends, then records the AI player's score.
@@ -54,62 +121,96 @@ public class WheelOfFortuneAIGame extends WheelOfFortune {
      * @return The final game record with the AI player's score and ID.
      */
     public GameRecord play() {
-        System.out.println("Starting a new game for AI player: " + currentPlayer.playerId() + " with phrase: " + phrase);
+        if (!quiet) {
+            System.out.println("Starting a new game for AI player: " + currentPlayer.playerId() + " with phrase: " + phrase);
+        }
         guessedLetters.clear(); // Clear guessed letters for each new game
+        long startMillis = System.currentTimeMillis();
+        GameJfrEvents.GameEnded ended = new GameJfrEvents.GameEnded();
+        ended.begin();
+        recordGameStarted(currentPlayer.playerId());
 
         while (!isGameOver()) {
-            List<String> guess = getGuess(); // Get an informed guess
-            processGuess(guess.get(0), currentPlayer);
+            GameJfrEvents.GuessMade guessEvent = new GameJfrEvents.GuessMade();
+            guessEvent.begin(); // The event spans the player's decision and the board update
+            char guess = (char) nextGuessCode(); // Get an informed guess
+            processGuess(guess, currentPlayer, guessEvent);
         }
 
         int score = currentPlayer.getScore();
-        System.out.println("Game over for AI player: " + currentPlayer.playerId() + ". Score: " + score);
+        if (!quiet) {
+            System.out.println("Game over for AI player: " + currentPlayer.playerId() + ". Score: " + score);
+        }
+        recordGameEnded(ended, currentPlayer.playerId(), score);
+        if (eventPublisher != null && eventPublisher.hasSubscribers()) {
+            eventPublisher.publish(GameEvent.gameEnded(currentPlayer.playerId(), phrase, score, attempts - numGuesses));
+        }
 
-        GameRecord gameRecord = new GameRecord(score, currentPlayer.playerId());
+        currentPlayer.gameFinished(phrase); // Let learning players train on the finished phrase
+        GameRecord gameRecord = new GameRecord(score, currentPlayer.playerId(), startMillis, System.currentTimeMillis());
         currentPlayer.setScore(0); // Reset AI player's score for the next game
         return gameRecord;
     }
 
+    /**
+     * Plays a single game of the given phrase with the given player, independently of the phrase
+     * and player lists the game was constructed with. The board is left as it was at the end of the
+     * game, so isWinningGuess(null) tells whether the phrase was solved.
+     *
+     * @param phrase The phrase to play.
+     * @param player The AI player making the guesses.
+     * @return The game record with the player's score and ID.
+     */
+    public GameRecord play(String phrase, WheelOfFortunePlayer player) {
+        this.currentPlayer = player;
+        this.phrase = phrase;
+        this.hiddenPhrase = generateHiddenPhrase(phrase);
+        this.numGuesses = attempts;
+        this.usedLetters.setLength(0);
+        player.reset();
+        return play();
+    }
+
     /**
      * Processes the AI player's guess, updating the hidden phrase and game state based on
      * whether the guess is correct or incorrect.
      *
-     * @param guess The guessed letter.
+     * @param guessedLetter The guessed letter.
      * @param currentPlayer The AI player making the guess.
+     * @param guessEvent The flight recorder event begun at the start of this turn.
      */
-    private void processGuess(String guess, WheelOfFortunePlayer currentPlayer) {
-        char guessedLetter = guess.charAt(0);
-        boolean found = false;
-
-        for (int i = 0; i < phrase.length(); i++) {
-            if (Character.toLowerCase(phrase.charAt(i)) == Character.toLowerCase(guessedLetter)) {
-                hiddenPhrase.setCharAt(i, phrase.charAt(i)); // Reveal the letter
-                found = true;
-            }
-        }
+    private void processGuess(char guessedLetter, WheelOfFortunePlayer currentPlayer, GameJfrEvents.GuessMade guessEvent) {
+        boolean found = scoreGuess(guessedLetter) > 0; // Reveals the letter or uses up a guess
 
         if (found) {
             currentPlayer.incrementScore();
-            System.out.println("AI guess '" + guessedLetter + "' is correct! Current phrase: " + hiddenPhrase);
+            if (!quiet) {
+                System.out.println("AI guess '" + guessedLetter + "' is correct! Current phrase: " + hiddenPhrase);
+            }
         } else {
-            numGuesses--;
-            System.out.println("AI guess '" + guessedLetter + "' is incorrect. Guesses remaining: " + numGuesses);
+            if (!quiet) {
+                System.out.println("AI guess '" + guessedLetter + "' is incorrect. Guesses remaining: " + numGuesses);
+            }
+        }
+
+        if (eventPublisher != null && eventPublisher.hasSubscribers()) {
+            eventPublisher.publish(GameEvent.guess(currentPlayer.playerId(), phrase, guessedLetter, found,
+                    currentPlayer.getScore(), attempts - numGuesses));
         }
+
+        recordGuess(guessEvent, currentPlayer.playerId(), guessedLetter, found);
     }
 
     /**
      * Resets the game state to prepare for the next round without reloading phrases, clearing
-     * the guessed letters and resetting scores and state for each AI player.
+     * the guessed letters and the state of the player who just played. Only that player's state
+     * changed during the game, so the other players need no reset.
      */
     private void resetGameState() {
         this.numGuesses = 10;                 // Reset the number of guesses for the new game
         this.usedLetters.setLength(0);         // Clear used letters in WheelOfFortuneAIGame
         this.hiddenPhrase = generateHiddenPhrase(this.phrase); // Reset hidden phrase based on the new phrase
-
-        // Call reset on each AI player to clear their state
-        for (WheelOfFortunePlayer player : aiPlayers) {
-            player.reset();   // Use the existing reset method to clear used letters and reset score
-        }
+        currentPlayer.reset();                 // Clear the used letters and score of the player who just played
     }
 
     /**
@@ -122,7 +223,7 @@ public class WheelOfFortuneAIGame extends WheelOfFortune {
     public String toString() {
         return "WheelOfFortuneAIGame{" +
                 "aiPlayers=" + aiPlayers +
-                ", remainingPhrases=" + remainingPhrases +
+                ", remainingPhrases=" + phrases() +
                 ", currentPlayer=" + currentPlayer +
                 ", guessedLetters=" + guessedLetters +
                 '}';
@@ -155,23 +256,34 @@ public class WheelOfFortuneAIGame extends WheelOfFortune {
     }
 
     /**
-     * Gets the current AI player's guess by calling their nextGuess method, converting
-     * the result to a List<String> format to match the method signature.
+     * Gets the current AI player's guess as a guess code, which is the guessed letter itself,
+     * without building a list. AnytimePlayers move under the move deadline, if one is set.
      *
-     * @return The guess as a List containing a single letter string.
+     * @return The guessed letter.
      */
     @Override
-    protected List<String> getGuess() {
+    protected int nextGuessCode() {
         if (currentPlayer == null) {
             throw new IllegalStateException("Current player is not set.");
         }
+        currentPlayer.observeBoard(hiddenPhrase);
+        if (moveDeadline != null && currentPlayer instanceof AnytimePlayer) {
+            return moveDeadline.move((AnytimePlayer) currentPlayer, hiddenPhrase);
+        }
+        return currentPlayer.nextGuess();
+    }
 
-        // Use the AI player's nextGuess method to get the next guess
-        char guessChar = currentPlayer.nextGuess();
-
+    /**
+     * Gets the current AI player's guess by calling their nextGuess method, converting
+     * the result to a List<String> format to match the method signature.
+     *
+     * @return The guess as a List containing a single letter string.
+     */
+    @Override
+    protected List<String> getGuess() {
         // Convert the char to a List<String> format required by the method
         List<String> guessList = new ArrayList<>();
-        guessList.add(String.valueOf(guessChar));
+        guessList.add(String.valueOf((char) nextGuessCode()));
 
         return guessList;
     }
@@ -17,4 +17,31 @@ public interface WheelOfFortunePlayer {
 
     // Method to increment the player's score by 1
     void incrementScore();
+
+    // Method to get the letters this player always guesses first, in order, whatever happens on the board.
+    // Games against a phrase are identical until this prefix runs out, which lets outcomes be memoized.
+    default char[] deterministicPrefix() {
+        return new char[0];
+    }
+
+    // Method to tell whether the player has a deterministic prefix worth memoizing
+    default boolean isDeterministic() {
+        return deterministicPrefix().length > 0;
+    }
+
+    // Method called before each guess with the board as it stands, '*' marking hidden letters, so players
+    // that reason about the words of the phrase can see them. The board changes as the game goes on, so it
+    // must be copied if it is needed after the next guess.
+    default void observeBoard(CharSequence board) {
+    }
+
+    // Method called when a game ends, with the phrase that was played, so learning players can train on it
+    default void gameFinished(String phrase) {
+    }
+
+    // Method to get a fingerprint identifying the player's strategy. Players with equal fingerprints
+    // must have equal deterministic prefixes.
+    default String strategyFingerprint() {
+        return getClass().getName();
+    }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ public class WheelOfFortuneUserGame extends WheelOfFortune {
 
     private WheelOfFortunePlayer player;
     private AllGamesRecord allGamesRecord; // Record to store all games played
+    private GameJfrEvents.GameEnded sessionEnded; // Event spanning the hosted game in progress, null if none
 
     /**
      * Constructor for initializing a user game with a list of phrases and a specific player.
@@ -17,19 +18,20 @@ public class WheelOfFortuneUserGame extends WheelOfFortune {
      * @param player  The player participating in the game.
      */
     public WheelOfFortuneUserGame(List<String> phrases, WheelOfFortunePlayer player) {
-        super(phrases, 10); // Initialize with phrases and default attempts
-        this.player = player;
-        this.allGamesRecord = new AllGamesRecord();
+        this(phrases, player, null);
     }
 
     /**
-     * Generates the secret code (random phrase) for the game.
+     * Constructor for initializing a user game whose phrases are drawn from the given scheduler.
+     *
+     * @param phrases         List of phrases used in the game.
+     * @param player          The player participating in the game.
+     * @param phraseScheduler Scheduler choosing the next phrase, or null to deal the phrases from a shuffled deck.
      */
-    @Override
-    public void generateSecretCode() {
-        Random random = new Random();
-        this.phrase = phrases.get(random.nextInt(phrases.size())); // Select a random phrase
-        this.hiddenPhrase = generateHiddenPhrase(this.phrase); // Generate hidden version of the phrase
+    public WheelOfFortuneUserGame(List<String> phrases, WheelOfFortunePlayer player, PhraseScheduler phraseScheduler) {
+        super(phrases, 10, phraseScheduler); // Initialize with phrases and default attempts
+        this.player = player;
+        this.allGamesRecord = new AllGamesRecord();
     }
 
     /**
@@ -40,24 +42,78 @@ public class WheelOfFortuneUserGame extends WheelOfFortune {
     @Override
     public GameRecord play() {
         resetGame(); // Reset the game state for a new round
+        long startMillis = System.currentTimeMillis();
         generateSecretCode(); // Set up a new phrase (secret code) for the game
+        GameJfrEvents.GameEnded ended = new GameJfrEvents.GameEnded();
+        ended.begin();
+        recordGameStarted(player.playerId());
 
         while (!isGameOver()) {
-            List<String> guess = getGuess();
-            processGuess(guess.get(0), player);
+            GameJfrEvents.GuessMade guessEvent = new GameJfrEvents.GuessMade();
+            guessEvent.begin(); // The event spans the player's input and the board update
+            char guess = (char) nextGuessCode();
+            recordGuess(guessEvent, player.playerId(), guess, processGuess(guess, player));
         }
 
         int score = player.getScore();
         System.out.println("Game over! Your score: " + score);
+        recordGameEnded(ended, player.playerId(), score);
 
-        GameRecord gameRecord = new GameRecord(score, player.playerId());
+        GameRecord gameRecord = new GameRecord(score, player.playerId(), startMillis, System.currentTimeMillis());
         player.setScore(0); // Reset player score for next game
         return gameRecord;
     }
+
+    /**
+     * Starts a new game of a hosted session, whose guesses arrive through guess instead of being
+     * read from the console.
+     */
+    public void startGame() {
+        resetGame();
+        generateSecretCode();
+        player.setScore(0);
+        sessionEnded = new GameJfrEvents.GameEnded();
+        sessionEnded.begin(); // Committed by the guess that ends the game
+        recordGameStarted(player.playerId());
+    }
+
+    /**
+     * Applies one guess of a hosted session without any console input or output.
+     *
+     * @param letter The guessed letter.
+     * @return true if the letter is in the phrase, otherwise false.
+     * @throws IllegalArgumentException If the guess is not a letter or was already guessed.
+     * @throws IllegalStateException If no game was started or the game is already over.
+     */
+    public boolean guess(char letter) {
+        if (phrase == null) {
+            throw new IllegalStateException("No game was started");
+        }
+        String guess = String.valueOf(Character.toUpperCase(letter));
+        if (!Character.isLetter(letter) || usedLetters.indexOf(guess) != -1) {
+            throw new IllegalArgumentException("Not an unused letter: " + letter);
+        }
+        if (isGameOver()) {
+            throw new IllegalStateException("The game is over");
+        }
+        GameJfrEvents.GuessMade guessEvent = new GameJfrEvents.GuessMade();
+        guessEvent.begin();
+        usedLetters.append(guess);
+        boolean hit = scoreGuess(letter) > 0; // Reveals the letter or uses up a guess
+        if (hit) {
+            player.incrementScore();
+        }
+        recordGuess(guessEvent, player.playerId(), letter, hit);
+        if (sessionEnded != null && isGameOver()) {
+            recordGameEnded(sessionEnded, player.playerId(), player.getScore());
+            sessionEnded = null;
+        }
+        return hit;
+    }
+
     private void resetGame() {
         this.numGuesses = 10; // Reset number of guesses for the new game
-        this.usedLetters.setLength(0); // Clear used letters
-        this.hiddenPhrase = generateHiddenPhrase(this.phrase); // Reset the hidden phrase display
+        this.usedLetters.setLength(0); // Clear used letters; generateSecretCode sets up the hidden phrase
     }
     /**
      * Plays multiple games, asking the user if they want to continue after each game,
@@ -86,27 +142,18 @@ public class WheelOfFortuneUserGame extends WheelOfFortune {
     /**
      * Processes the player's guess, updating the hidden phrase and game state.
      *
-     * @param guess  The guessed letter.
-     * @param player The player making the guess.
+     * @param guessedLetter The guessed letter.
+     * @param player        The player making the guess.
+     * @return true if the letter is in the phrase, otherwise false.
      */
-    private void processGuess(String guess, WheelOfFortunePlayer player) {
-        char guessedLetter = guess.charAt(0);
-        boolean found = false;
-
-        for (int i = 0; i < phrase.length(); i++) {
-            if (Character.toLowerCase(phrase.charAt(i)) == Character.toLowerCase(guessedLetter)) {
-                hiddenPhrase.setCharAt(i, phrase.charAt(i)); // Reveal the letter
-                found = true;
-            }
-        }
-
-        if (found) {
+    private boolean processGuess(char guessedLetter, WheelOfFortunePlayer player) {
+        if (scoreGuess(guessedLetter) > 0) { // Reveals the letter or uses up a guess
             player.incrementScore();
             System.out.println("Correct guess! Current phrase: " + hiddenPhrase);
-        } else {
-            numGuesses--;
-            System.out.println("Incorrect guess. Guesses remaining: " + numGuesses);
+            return true;
         }
+        System.out.println("Incorrect guess. Guesses remaining: " + numGuesses);
+        return false;
     }
 
     /**